@@ -58,3 +58,8 @@ create table archive
         foreign key (report_id) references reports (id)
 );
 
+create index idx_reports_owner_updated_id
+    on reports (owner_id, updated, id);
+
+create index idx_report_inspectors_usr_report
+    on report_inspectors (usr_id, report_id);
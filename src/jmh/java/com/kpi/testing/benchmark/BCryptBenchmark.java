@@ -0,0 +1,36 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.util.BCryptEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password check on login. Deliberately slow; this tracks how much request time the configured cost takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+    private BCryptEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptEncoder();
+        hash = encoder.encode("grib1111");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("grib1111", hash);
+    }
+
+    @Benchmark
+    public boolean mismatch() {
+        return encoder.matches("wrong-password", hash);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.dto.ReportForUserReportTableDTO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.Pagination;
+import com.kpi.testing.util.mapper.Mapper;
+import com.kpi.testing.util.mapper.MapperRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the table page the home commands hand to the JSP: mapping the page rows and reading it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+    private Pagination<Report> pagination;
+    private Mapper<Report, ReportForUserReportTableDTO> mapper;
+
+    @Setup
+    public void setUp() {
+        List<Report> reports = new ArrayList<>();
+        for (long i = 0; i < 12; i++) {
+            reports.add(Report.builder()
+                    .id(i)
+                    .name("report " + i)
+                    .description("statement")
+                    .status(ReportStatus.QUEUE)
+                    .created(LocalDate.of(2020, 1, 1))
+                    .updated(LocalDate.of(2020, 1, 2))
+                    .build());
+        }
+        pagination = new Pagination<>(3, 12, 1000, reports, "p", "n");
+        mapper = MapperRegistry.getInstance().get(Report.class, ReportForUserReportTableDTO.class);
+    }
+
+    @Benchmark
+    public List<ReportForUserReportTableDTO> mapAndGetPage() {
+        Pagination<ReportForUserReportTableDTO> page = pagination.map(mapper::map);
+        page.getTotalPages();
+        return page.getPage();
+    }
+}
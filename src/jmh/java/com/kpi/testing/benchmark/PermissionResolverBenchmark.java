@@ -0,0 +1,80 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.controller.security.PermissionResolver;
+import com.kpi.testing.entity.enums.Role;
+import org.openjdk.jmh.annotations.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorization cost per request: the shared, memoized {@link PermissionResolver} against
+ * {@link LegacyPermissionResolver}, a copy of the resolver that was built per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionResolverBenchmark {
+    @Param({"/app/userHome/update/17", "/app/index", "/tax/static/css/style.css", "/app/accounts/login"})
+    private String uri;
+
+    private HttpServletRequest request;
+    private PermissionResolver resolver;
+
+    @Setup
+    public void setUp() {
+        request = (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getRequestURI".equals(method.getName()) ? uri : null);
+        resolver = PermissionResolver.getInstance();
+    }
+
+    @Benchmark
+    public boolean shared() {
+        return resolver.isAbleToAccess(request, null, Role.ROLE_USER);
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        return new LegacyPermissionResolver().isAbleToAccess(request, null, Role.ROLE_USER);
+    }
+
+    /**
+     * PermissionResolver as it was before the decision table, kept as the baseline.
+     */
+    static class LegacyPermissionResolver {
+        private final Map<Role, Set<String>> permissions = new HashMap<>();
+        final Set<String> COMMON_PAGES = new HashSet<>(Arrays.asList("index", "accounts/logout", ".*/tax/static/css/.*", ".*/tax/static/js/.*"));
+        final Set<String> GUEST_PAGES = new HashSet<>(Arrays.asList("accounts/login", "accounts/registration"));
+        final Set<String> USER_PAGES = new HashSet<>(Arrays.asList("userHome/.*", "userHome"));
+        final Set<String> INSP_PAGES = new HashSet<>(Arrays.asList("inspHome/.*", "inspHome"));
+
+        LegacyPermissionResolver() {
+            permissions.put(Role.ROLE_GUEST, GUEST_PAGES);
+            permissions.put(Role.ROLE_USER, USER_PAGES);
+            permissions.put(Role.ROLE_INSPECTOR, INSP_PAGES);
+        }
+
+        boolean isAbleToAccess(HttpServletRequest request, HttpServletResponse response, Role role) {
+            String path = request.getRequestURI();
+            path = path.replaceAll(".*/app/", "");
+
+            String finalPath = path;
+            if (permissions.values().stream().noneMatch(set -> set.stream().anyMatch(finalPath::matches))) {
+                return true;
+            }
+
+            if (COMMON_PAGES.stream().anyMatch(path::matches)) {
+                return true;
+            }
+
+            return permissions.get(role).stream().anyMatch(path::matches);
+        }
+    }
+}
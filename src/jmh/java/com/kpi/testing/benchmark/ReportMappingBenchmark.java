@@ -0,0 +1,65 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.dto.ReportForUserReportTableDTO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.SinglModelMapper;
+import com.kpi.testing.util.mapper.Mapper;
+import com.kpi.testing.util.mapper.MapperRegistry;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps one table page of reports to DTOs with the hand-written mapper and with the reflective ModelMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportMappingBenchmark {
+    @Param({"12", "500"})
+    private int pageSize;
+
+    private List<Report> reports;
+    private Mapper<Report, ReportForUserReportTableDTO> mapper;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        reports = new ArrayList<>();
+        for (long i = 0; i < pageSize; i++) {
+            reports.add(Report.builder()
+                    .id(i)
+                    .name("report " + i)
+                    .description("quarterly statement " + i)
+                    .status(ReportStatus.QUEUE)
+                    .declineReason((i % 2 == 0) ? null : "missing signature")
+                    .created(LocalDate.of(2020, 1, 1))
+                    .updated(LocalDate.of(2020, 2, 1))
+                    .build());
+        }
+        mapper = MapperRegistry.getInstance().get(Report.class, ReportForUserReportTableDTO.class);
+        modelMapper = SinglModelMapper.getInstance().getMapper();
+    }
+
+    @Benchmark
+    public List<ReportForUserReportTableDTO> handWritten() {
+        return mapper.mapAll(reports);
+    }
+
+    @Benchmark
+    public List<ReportForUserReportTableDTO> modelMapper() {
+        List<ReportForUserReportTableDTO> result = new ArrayList<>(reports.size());
+        for (Report report : reports) {
+            result.add(modelMapper.map(report, ReportForUserReportTableDTO.class));
+        }
+        return result;
+    }
+}
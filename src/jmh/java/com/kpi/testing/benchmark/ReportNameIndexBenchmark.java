@@ -0,0 +1,68 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.dao.impl.ReportNameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a report name search answered by {@link ReportNameIndex} with the row-by-row
+ * substring scan that {@code name like '%term%'} makes MySQL do over all reports of an owner.
+ * The scan side leaves out I/O, so it is a lower bound for the LIKE path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportNameIndexBenchmark {
+    private static final String[] WORDS = {"annual", "quarterly", "monthly", "tax", "income", "vat",
+            "property", "report", "declaration", "summary", "correction", "statement"};
+
+    @Param({"1000", "50000"})
+    private int reportsPerOwner;
+
+    @Param({"correction statement", "vat"})
+    private String term;
+
+    private ReportNameIndex index;
+    private Map<Long, List<String>> namesByOwner;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new ReportNameIndex();
+        namesByOwner = new HashMap<>();
+        List<ReportNameIndex.Entry> entries = new ArrayList<>();
+        long id = 1;
+        for (long owner = 1; owner <= 4; owner++) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < reportsPerOwner; i++) {
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+                names.add(name.toLowerCase(Locale.ROOT));
+                entries.add(new ReportNameIndex.Entry(id++, name, owner, Collections.singletonList(100 + owner)));
+            }
+            namesByOwner.put(owner, names);
+        }
+        index.rebuild(entries);
+    }
+
+    @Benchmark
+    public Set<Long> trigramIndex() {
+        return index.searchByOwner(2L, term).orElse(Collections.emptySet());
+    }
+
+    @Benchmark
+    public int likeScan() {
+        String needle = term.toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (String name : namesByOwner.get(2L)) {
+            if (name.contains(needle)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,73 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.dao.impl.JDBCReportDAO;
+import com.kpi.testing.dao.impl.JDBCUserDAO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-to-entity conversion of the DAOs over a stub {@link ResultSet} that serves one joined row
+ * from memory, so the numbers show the extraction code rather than the driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetExtractionBenchmark {
+    private ResultSet row;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("reports.id", 42L);
+        columns.put("reports.created", Date.valueOf(LocalDate.of(2020, 1, 1)));
+        columns.put("reports.updated", Date.valueOf(LocalDate.of(2020, 2, 1)));
+        columns.put("reports.status", "QUEUE");
+        columns.put("decline_reason", null);
+        columns.put("description", "quarterly statement");
+        columns.put("name", "report 42");
+        columns.put("usr.id", 7L);
+        columns.put("username", "user");
+        columns.put("email", "user@gmail.com");
+        columns.put("password", "$2a$10$abcdefghijklmnopqrstuuQ5bK1Y2Zx3d4e5f6g7h8i9j0k1l2m3n");
+        columns.put("usr.created", Date.valueOf(LocalDate.of(2019, 5, 1)));
+        columns.put("usr.updated", Date.valueOf(LocalDate.of(2019, 6, 1)));
+        columns.put("role", "ROLE_USER");
+        columns.put("usr.status", "Active");
+        row = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object value = columns.get((String) args[0]);
+                    switch (method.getName()) {
+                        case "getLong":
+                            return (value == null) ? 0L : value;
+                        case "getDate":
+                        case "getString":
+                            return value;
+                        default:
+                            throw new SQLException("Not supported: " + method.getName());
+                    }
+                });
+    }
+
+    @Benchmark
+    public Report extractReport() throws SQLException {
+        return JDBCReportDAO.extractReport(row);
+    }
+
+    @Benchmark
+    public User extractUser() throws SQLException {
+        return JDBCUserDAO.extractUser(row);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.controller.Router;
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route resolution in Servlet: the precompiled {@link Router} against the former
+ * regex scan over the command map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+    private static final String[] ROUTES = {"accounts/login", "index", "error", "accounts/registration",
+            "accounts/logout", "userHome", "inspHome", "userHome/add"};
+    private static final String[] ID_ROUTES = {"userHome/update/", "inspHome/decline/"};
+
+    @Param({"/app/userHome", "/app/userHome/update/1532", "/app/unknown/page"})
+    private String uri;
+
+    private Router router;
+    private Map<String, Command> legacy;
+
+    @Setup
+    public void setUp() {
+        Command command = (request, response) -> { };
+        IdCommand idCommand = (request, response, id) -> { };
+        router = new Router(command);
+        legacy = new HashMap<>();
+        for (String route : ROUTES) {
+            router.add(route, command);
+            legacy.put(route, command);
+        }
+        for (String route : ID_ROUTES) {
+            router.add(route + Router.ID, idCommand);
+            legacy.put(route + "[0-9]*", idCommand);
+        }
+    }
+
+    @Benchmark
+    public Router.Match router() {
+        return router.route(Router.path(uri));
+    }
+
+    @Benchmark
+    public Command legacyRegexScan() {
+        String path = uri.replaceAll(".*/app/", "");
+        String match = legacy.keySet().stream().filter(path::matches).findFirst().orElse("error");
+        return legacy.get(match);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kpi.testing.benchmark;
+
+import com.kpi.testing.controller.security.XSSRequestWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of sanitizing one request value with {@link XSSRequestWrapper#cleanXSS(String)} and with the former regex chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XssBenchmark {
+    @Param({"plain", "markup", "description"})
+    private String kind;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        switch (kind) {
+            case "plain":
+                value = "user@gmail.com";
+                break;
+            case "markup":
+                value = "<script>alert('x')</script>";
+                break;
+            default:
+                StringBuilder description = new StringBuilder();
+                for (int i = 0; i < 200; i++) {
+                    description.append("Income (line ").append(i).append(") for the 'quarter' period. ");
+                }
+                value = description.toString();
+        }
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return XSSRequestWrapper.cleanXSS(value);
+    }
+
+    @Benchmark
+    public String legacyRegexChain() {
+        String s = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        s = s.replaceAll("[\\p{Cn}]", "\uFFFD");
+        String result = value.replaceAll("<", "&lt;").replaceAll(">", "&gt;");
+        result = result.replaceAll("\\(", "&#40;").replaceAll("\\)", "&#41;");
+        result = result.replaceAll("'", "&#39;");
+        result = result.replaceAll("eval\\((.*)\\)", "");
+        result = result.replaceAll("[\"'][\\s]*javascript:(.*)[\"']", "\"\"");
+        return result + s.length();
+    }
+}
@@ -0,0 +1,130 @@
+package com.kpi.testing.controller;
+
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.RequestContext;
+import org.slf4j.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Finishes a request once background work is done. With async support the request thread is released
+ * and the completion runs on a container thread through {@link AsyncContext#start(Runnable)}, with the
+ * calling command still in {@link RequestContext}; otherwise the calling thread waits for the result.
+ * Either way a result that takes longer than {@code async.timeoutSeconds} is answered with 503 and the
+ * completion is skipped.
+ */
+public class AsyncResponder {
+    private static final Logger logger = getLogger(AsyncResponder.class);
+    private static final String TIMEOUT_SECONDS = "async.timeoutSeconds";
+
+    private AsyncResponder() {}
+
+    @FunctionalInterface
+    public interface Completion<T> {
+        void complete(T result, Throwable error) throws IOException, ServletException;
+    }
+
+    /**
+     * @param retryAfterSeconds sent with the 503 when the result does not arrive in time
+     */
+    public static <T> void await(HttpServletRequest request, HttpServletResponse response, CompletableFuture<T> future,
+                                 int retryAfterSeconds, Completion<T> completion) throws IOException, ServletException {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(AppProperties.getLong(TIMEOUT_SECONDS, 30));
+        if (!request.isAsyncSupported()) {
+            T result;
+            try {
+                result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                completion.complete(null, e.getCause());
+                return;
+            } catch (TimeoutException e) {
+                overloaded(response, retryAfterSeconds);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            }
+            completion.complete(result, null);
+            return;
+        }
+        String command = RequestContext.getCommand();
+        AtomicBoolean answered = new AtomicBoolean();
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeoutMillis);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (answered.compareAndSet(false, true)) {
+                    logger.warn("Async completion of " + request.getRequestURI() + " timed out");
+                    try {
+                        overloaded(response, retryAfterSeconds);
+                    } finally {
+                        async.complete();
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (!answered.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                async.start(() -> {
+                    RequestContext.setCommand(command);
+                    try {
+                        completion.complete(result, unwrap(error));
+                    } catch (IOException | ServletException | RuntimeException e) {
+                        logger.error("Async completion of " + request.getRequestURI() + " failed", e);
+                        try {
+                            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        } catch (IOException | IllegalStateException ignored) {
+                        }
+                    } finally {
+                        RequestContext.clear();
+                        async.complete();
+                    }
+                });
+            } catch (IllegalStateException e) {
+                logger.error("Async completion of " + request.getRequestURI() + " could not be started", e);
+            }
+        });
+    }
+
+    /**
+     * Answers 503 with {@code Retry-After}, used when a bounded worker pool rejects the task.
+     */
+    public static void overloaded(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,156 @@
+package com.kpi.testing.controller;
+
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Route table built once at servlet start. Literal routes are found with a single hash lookup;
+ * routes with an {@value #ID} segment are kept in a segment trie where {@value #ID} matches digits only.
+ */
+public class Router {
+    public static final String ID = "{id}";
+    private static final String APP_PREFIX = "/app/";
+
+    private final Map<String, Command> literals = new HashMap<>();
+    private final Node root = new Node();
+    private final Command fallback;
+
+    public Router(Command fallback) {
+        this.fallback = fallback;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node id;
+        private Command command;
+    }
+
+    /**
+     * Resolved route: the command and the id taken from the path, if the route has one.
+     */
+    public static class Match {
+        private final Command command;
+        private final Long id;
+
+        private Match(Command command, Long id) {
+            this.command = command;
+            this.id = id;
+        }
+
+        public Command getCommand() {
+            return command;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+            if (id != null && command instanceof IdCommand) {
+                ((IdCommand) command).execute(request, response, id);
+            } else {
+                command.execute(request, response);
+            }
+        }
+    }
+
+    public Router add(String route, Command command) {
+        if (!route.contains(ID)) {
+            literals.put(route, command);
+            return this;
+        }
+        Node node = root;
+        for (String segment : route.split("/")) {
+            if (ID.equals(segment)) {
+                if (node.id == null) {
+                    node.id = new Node();
+                }
+                node = node.id;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.command = command;
+        return this;
+    }
+
+    /**
+     * @return part of the request URI after the last {@code /app/}, or the whole URI if there is none
+     */
+    public static String path(String uri) {
+        int start = uri.lastIndexOf(APP_PREFIX);
+        return (start < 0) ? uri : uri.substring(start + APP_PREFIX.length());
+    }
+
+    /**
+     * @return the path with every id segment replaced by {@value #ID}, so paths of one route share a key
+     */
+    public static String template(String path) {
+        StringBuilder template = null;
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (isId(path.substring(start, end))) {
+                if (template == null) {
+                    template = new StringBuilder(path.length()).append(path, 0, start);
+                }
+                template.append(ID);
+            } else if (template != null) {
+                template.append(path, start, end);
+            }
+            if (template != null && end < path.length()) {
+                template.append('/');
+            }
+            start = end + 1;
+        }
+        return (template == null) ? path : template.toString();
+    }
+
+    public Match route(String path) {
+        Command literal = literals.get(path);
+        if (literal != null) {
+            return new Match(literal, null);
+        }
+        Node node = root;
+        Long id = null;
+        int start = 0;
+        while (node != null && start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            Node next = node.children.get(segment);
+            if (next == null && node.id != null && isId(segment)) {
+                next = node.id;
+                id = Long.valueOf(segment);
+            }
+            node = next;
+            start = end + 1;
+        }
+        return (node == null || node.command == null) ? new Match(fallback, null) : new Match(node.command, id);
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.isEmpty() || segment.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,23 +5,34 @@ import com.kpi.testing.controller.command.get.*;
 import com.kpi.testing.controller.command.get.UserHomeCommand;
 import com.kpi.testing.controller.command.post.*;
 import com.kpi.testing.service.InspectorService;
+import com.kpi.testing.service.ReportImportService;
 import com.kpi.testing.service.ReportOwnerService;
 import com.kpi.testing.service.ReportService;
+import com.kpi.testing.service.ReportWriteBehind;
 import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.BCryptEncoder;
+import com.kpi.testing.util.LatencyHistogram;
+import com.kpi.testing.util.MetricsRegistry;
+import com.kpi.testing.util.RequestContext;
 import org.slf4j.Logger;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Servlet extends HttpServlet {
-    private final Map<String, Command> getCommands = new HashMap<>();
-    private final Map<String, Command> postCommands = new HashMap<>();
+    private final Command errorCommand = new ErrorCommand();
+    private final Router getCommands = new Router(errorCommand);
+    private final Router postCommands = new Router(errorCommand);
+    private static final String REQUEST_DURATION = "http_request_duration_seconds";
+    private final Map<Command, Map<Integer, LatencyHistogram>> latencies = new ConcurrentHashMap<>();
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Servlet.class);
 
     @Override
@@ -30,29 +41,43 @@ public class Servlet extends HttpServlet {
         System.setProperty("org.slf4j.simpleLogger.showDateTime","true");
         System.setProperty("org.slf4j.simpleLogger.defaultLogLevel","info");
         System.setProperty("org.slf4j.simpleLogger.dateTimeFormat", "yyyy-MM-dd::HH-mm-ss-SSS");
+        BCryptEncoder.configure();
         UserService userService = new UserService();
         ReportService reportService = new ReportService();
         ReportOwnerService reportOwnerService = new ReportOwnerService();
         InspectorService inspectorService = new InspectorService();
-        getCommands.put("accounts/login", new LoginCommand());
-        getCommands.put("index", new IndexCommand(userService));
-        getCommands.put("error", new ErrorCommand());
-        getCommands.put("accounts/registration", new RegistrationCommand());
-        getCommands.put("accounts/logout", new LogoutCommand());
-        getCommands.put("userHome", new UserHomeCommand(reportService, userService));
-        getCommands.put("inspHome", new InspHomeCommand(reportService, userService));
-        getCommands.put("userHome/add", new AddCommand());
-        getCommands.put("userHome/update/[0-9]*", new UpdateCommand(reportService, userService));
-        getCommands.put("inspHome/decline/[0-9]*", new DeclineCommand(reportService, userService));
+        reportService.rebuildSearchIndex();
+        getCommands.add("accounts/login", new LoginCommand());
+        getCommands.add("index", new IndexCommand(userService));
+        getCommands.add("error", errorCommand);
+        getCommands.add("accounts/registration", new RegistrationCommand());
+        getCommands.add("accounts/logout", new LogoutCommand());
+        getCommands.add("userHome", new UserHomeCommand(reportService, userService));
+        getCommands.add("inspHome", new InspHomeCommand(reportService, userService));
+        getCommands.add("userHome/add", new AddCommand());
+        getCommands.add("userHome/update/{id}", new UpdateCommand(reportService, userService));
+        getCommands.add("inspHome/decline/{id}", new DeclineCommand(reportService, userService));
+        getCommands.add("userHome/export", new ExportCommand(reportService, userService, ExportCommand.Scope.OWNER));
+        getCommands.add("userHome/import", new ImportCommand());
+        getCommands.add("inspHome/export", new ExportCommand(reportService, userService, ExportCommand.Scope.INSPECTOR));
+        getCommands.add("metrics", new MetricsCommand());
 
-        postCommands.put("accounts/login", new PostLoginCommand(userService));
-        postCommands.put("accounts/registration", new PostRegistrationCommand(userService));
-        postCommands.put("userHome/add", new PostAddCommand(reportService, userService));
-        postCommands.put("userHome/update/[0-9]*", new PostUpdateCommand(reportService, userService));
-        postCommands.put("userHome/change/[0-9]*", new PostChangeInspector(reportService,userService, reportOwnerService));
-        postCommands.put("inspHome/decline/[0-9]*", new PostDeclineCommand(reportService,userService, inspectorService));
-        postCommands.put("inspHome/accept/[0-9]*", new PostAcceptCommand(reportService,userService, inspectorService));
+        postCommands.add("accounts/login", new PostLoginCommand(userService));
+        postCommands.add("accounts/registration", new PostRegistrationCommand(userService));
+        postCommands.add("userHome/add", new PostAddCommand(reportService, userService));
+        postCommands.add("userHome/import", new PostImportCommand(new ReportImportService(), userService));
+        postCommands.add("userHome/update/{id}", new PostUpdateCommand(reportService, userService));
+        postCommands.add("userHome/change/{id}", new PostChangeInspector(reportService,userService, reportOwnerService));
+        postCommands.add("inspHome/decline/{id}", new PostDeclineCommand(reportService,userService, inspectorService));
+        postCommands.add("inspHome/accept/{id}", new PostAcceptCommand(reportService,userService, inspectorService));
+        // starts the report writer, which first stores what the previous run left in the journal
+        ReportWriteBehind.getInstance();
+    }
 
+    @Override
+    public void destroy() {
+        ReportWriteBehind.getInstance().shutdown();
+        super.destroy();
     }
 
     public void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
@@ -63,13 +88,57 @@ public class Servlet extends HttpServlet {
         processRequest(request, response, getCommands);
     }
 
-    private void processRequest(HttpServletRequest request, HttpServletResponse response, Map<String, Command> commands) throws IOException,
+    private void processRequest(HttpServletRequest request, HttpServletResponse response, Router commands) throws IOException,
             ServletException {
-        String path = request.getRequestURI();
-        path = path.replaceAll(".*/app/" , "");
-        String match = commands.keySet().stream().filter(path::matches).findFirst().orElse("error");
-        Command command = commands.getOrDefault(match , new ErrorCommand());
-        logger.info("URI: " + path +" is redirected to: " + command.getClass().getSimpleName() + " command");
-        command.execute(request, response);
+        String path = Router.path(request.getRequestURI());
+        Router.Match match = commands.route(path);
+        logger.info("URI: " + path +" is redirected to: " + match.getCommand().getClass().getSimpleName() + " command");
+        long started = System.nanoTime();
+        boolean failed = true;
+        RequestContext.setCommand(match.getCommand().getClass().getSimpleName());
+        try {
+            match.execute(request, response);
+            failed = false;
+        } finally {
+            RequestContext.clear();
+            recordLatency(match.getCommand(), request, response, started, failed);
+        }
+    }
+
+    /**
+     * Async commands are timed until the response completes, the others until execute returns.
+     */
+    private void recordLatency(Command command, HttpServletRequest request, HttpServletResponse response, long started,
+                               boolean failed) {
+        if (failed || !request.isAsyncStarted()) {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            latency(command, status).record(System.nanoTime() - started);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                latency(command, response.getStatus()).record(System.nanoTime() - started);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private LatencyHistogram latency(Command command, int status) {
+        return latencies.computeIfAbsent(command, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> MetricsRegistry.getInstance().histogram(REQUEST_DURATION,
+                        "Time to handle a request by command and response status",
+                        "command=\"" + command.getClass().getSimpleName() + "\",status=\"" + key + "\""));
     }
 }
@@ -0,0 +1,22 @@
+package com.kpi.testing.controller.command;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Command mapped to a route ending with {@code {id}}; the router passes the parsed id.
+ */
+public interface IdCommand extends Command {
+    void execute(HttpServletRequest request, HttpServletResponse response, Long id) throws IOException, ServletException;
+
+    /**
+     * Fallback for callers outside the router: takes the id from the last segment of the URI.
+     */
+    @Override
+    default void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        String uri = request.getRequestURI();
+        execute(request, response, Long.parseLong(uri.substring(uri.lastIndexOf('/') + 1)));
+    }
+}
@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.get;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
@@ -16,7 +16,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class DeclineCommand implements Command {
+public class DeclineCommand implements IdCommand {
     private final ReportService reportService;
     private final UserService userService;
     private static final Logger logger = getLogger(DeclineCommand.class);
@@ -27,8 +27,7 @@ public class DeclineCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException, ServletException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -38,7 +37,6 @@ public class DeclineCommand implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/inspHome/decline/" , ""));
         if (user.getReportsInspected().stream().noneMatch(report -> report.getId().equals(reportId))){
             logger.error("Inspector cant decline report with specified id");
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
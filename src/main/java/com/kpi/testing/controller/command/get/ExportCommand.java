@@ -0,0 +1,94 @@
+package com.kpi.testing.controller.command.get;
+
+import com.kpi.testing.controller.AsyncResponder;
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.exceptions.UsernameNotFoundException;
+import com.kpi.testing.service.ReportService;
+import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.export.ExportFormat;
+import com.kpi.testing.util.export.ReportExporter;
+import org.slf4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Downloads all reports of the logged in owner or inspector as CSV or, with {@code format=json}, JSON.
+ * Rows go from the result set straight to the response, which the container sends chunked.
+ * <p>
+ * A download holds a pooled connection until the client has read the last row, so at most
+ * {@code export.maxConcurrent} run at once; the rest are answered 503 instead of draining the pool.
+ */
+public class ExportCommand implements Command {
+    public enum Scope {OWNER, INSPECTOR}
+
+    private final ReportService reportService;
+    private final UserService userService;
+    private final Scope scope;
+    private static final Logger logger = getLogger(ExportCommand.class);
+    private static final Semaphore RUNNING = new Semaphore(AppProperties.getInt("export.maxConcurrent", 4));
+    private static final int RETRY_AFTER_SECONDS = AppProperties.getInt("export.retryAfterSeconds", 5);
+
+    public ExportCommand(ReportService reportService, UserService userService, Scope scope) {
+        this.reportService = reportService;
+        this.userService = userService;
+        this.scope = scope;
+    }
+
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.parseBoolean(request.getSession().getAttribute("loggedIn").toString())) {
+            Long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
+            User user;
+            try {
+                user = userService.findAccountById(userId);
+            } catch (UsernameNotFoundException ex) {
+                logger.error("INVALID user recorded in session");
+                response.sendError(403);
+                return;
+            }
+            if (!RUNNING.tryAcquire()) {
+                AsyncResponder.overloaded(response, RETRY_AFTER_SECONDS);
+                return;
+            }
+            try {
+                ExportFormat format = ExportFormat.of(request.getParameter("format"));
+                response.setContentType(format.getContentType());
+                response.setCharacterEncoding("UTF-8");
+                response.setHeader("Content-Disposition", "attachment; filename=\"reports." + format.getFileExtension() + "\"");
+                ReportExporter exporter = format.open(response.getWriter());
+                exporter.begin();
+                try {
+                    if (scope == Scope.OWNER) {
+                        reportService.exportByOwner(user, report -> write(exporter, report));
+                    } else {
+                        reportService.exportByInspector(user, report -> write(exporter, report));
+                    }
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                exporter.end();
+            } finally {
+                RUNNING.release();
+            }
+        } else {
+            throw new RuntimeException();
+        }
+    }
+
+    private static void write(ReportExporter exporter, Report report) {
+        try {
+            exporter.write(report);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
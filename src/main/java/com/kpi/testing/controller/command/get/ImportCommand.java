@@ -0,0 +1,15 @@
+package com.kpi.testing.controller.command.get;
+
+import com.kpi.testing.controller.command.Command;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ImportCommand implements Command {
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        request.getRequestDispatcher("/WEB-INF/templates/home/importReports.jsp").forward(request, response);
+    }
+}
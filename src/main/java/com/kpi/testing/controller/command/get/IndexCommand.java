@@ -30,7 +30,7 @@ public class IndexCommand implements Command {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
             request.setAttribute("loggedIn", loggedIn);
             try {
-                User user = userService.findById(userId);
+                User user = userService.findAccountById(userId);
                 if (user.getRole().equals(Role.ROLE_USER)){
                     request.getSession().setAttribute("homeUrl", request.getContextPath() + "/app/userHome");
                 } else if (user.getRole().equals(Role.ROLE_INSPECTOR)){
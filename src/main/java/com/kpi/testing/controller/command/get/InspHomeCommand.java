@@ -1,12 +1,14 @@
 package com.kpi.testing.controller.command.get;
 
 import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.dao.ReportCursor;
 import com.kpi.testing.dto.ReportForInspectorReportTableDTO;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
 import com.kpi.testing.service.ReportService;
 import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.BatchLoader;
 import com.kpi.testing.util.Pagination;
 import org.slf4j.Logger;
 
@@ -14,8 +16,9 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -40,15 +43,24 @@ public class InspHomeCommand implements Command {
                 } catch (Exception ex) {
                     page = 0;
                 }
+                ReportCursor cursor;
+                try {
+                    cursor = Optional.ofNullable(request.getParameter("cursor")).map(ReportCursor::decode).orElse(null);
+                } catch (IllegalArgumentException ex) {
+                    cursor = null;
+                }
                 int limit = 12;
-                User user = userService.findById(userId);
+                User user = userService.findAccountById(userId);
                 String search = Optional.ofNullable(request.getParameter("search")).orElse("_");
-                List<ReportForInspectorReportTableDTO> reports = reportService.getAllByInspectorAndStatusForTable(user, ReportStatus.QUEUE, search);
-                Pagination<ReportForInspectorReportTableDTO> pagination = new Pagination<>(limit, reports);
-                reports.sort(Comparator.comparing(ReportForInspectorReportTableDTO::getId));
-                reports = pagination.getPage(page);
-                request.setAttribute("reports", reports);
+                Pagination<ReportForInspectorReportTableDTO> pagination = (cursor == null)
+                        ? reportService.getPageByInspectorAndStatusForTable(user, ReportStatus.QUEUE, search, page, limit)
+                        : reportService.getPageByInspectorAndStatusForTable(user, ReportStatus.QUEUE, search, cursor, limit);
+                request.setAttribute("reports", pagination.getPage());
+                request.setAttribute("owners", owners(request, pagination.getPage()));
                 request.setAttribute("totalPages", pagination.getTotalPages());
+                request.setAttribute("previousCursor", pagination.getPreviousCursor());
+                request.setAttribute("nextCursor", pagination.getNextCursor());
+                request.setAttribute("statusCounts", reportService.getStatusCountsByInspector(user));
                 request.getRequestDispatcher("/WEB-INF/templates/home/inspHome.jsp").forward(request, response);
             } catch (UsernameNotFoundException ex) {
                 logger.error("Report with specified id not found");
@@ -58,4 +70,14 @@ public class InspHomeCommand implements Command {
             throw new RuntimeException();
         }
     }
+
+    /**
+     * Owner of every row, by report id. The owners are fetched together when the page renders the first one.
+     */
+    private Map<Long, BatchLoader<User>.Ref> owners(HttpServletRequest request, List<ReportForInspectorReportTableDTO> reports) {
+        BatchLoader<User> users = BatchLoader.forRequest(request, "users", userService::findAccountsByIds, User::getId);
+        Map<Long, BatchLoader<User>.Ref> owners = new HashMap<>();
+        reports.forEach(report -> owners.put(report.getId(), users.load(report.getOwnerId())));
+        return owners;
+    }
 }
@@ -0,0 +1,74 @@
+package com.kpi.testing.controller.command.get;
+
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.security.XSSRequestWrapper;
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.MetricsRegistry;
+import com.kpi.testing.util.PrometheusExporter;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Prometheus scrape target. Answers 404 unless {@code metrics.enabled} is set. When {@code metrics.token}
+ * is set the scraper has to send it as {@code Authorization: Bearer <token>}; otherwise only requests
+ * from the loopback address are answered.
+ */
+public class MetricsCommand implements Command {
+    private static final String BEARER = "Bearer ";
+
+    private final boolean enabled = AppProperties.getBoolean("metrics.enabled", false);
+    private final String token = AppProperties.getString("metrics.token", null);
+    private final PrometheusExporter exporter = new PrometheusExporter(MetricsRegistry.getInstance());
+
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!enabled) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!isAllowed(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        response.setContentType(PrometheusExporter.CONTENT_TYPE);
+        exporter.write(response.getWriter());
+    }
+
+    private boolean isAllowed(HttpServletRequest request) {
+        if (token == null || token.trim().isEmpty()) {
+            return isLoopback(request.getRemoteAddr());
+        }
+        String header = unwrap(request).getHeader("Authorization");
+        return header != null && header.startsWith(BEARER)
+                && MessageDigest.isEqual(header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8),
+                token.trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The token is compared, never rendered, so it is read past {@link XSSRequestWrapper}, which would
+     * escape characters such as {@code '} or {@code <} in it.
+     */
+    private static HttpServletRequest unwrap(HttpServletRequest request) {
+        ServletRequest unwrapped = request;
+        while (unwrapped instanceof ServletRequestWrapper) {
+            unwrapped = ((ServletRequestWrapper) unwrapped).getRequest();
+        }
+        return (unwrapped instanceof HttpServletRequest) ? (HttpServletRequest) unwrapped : request;
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
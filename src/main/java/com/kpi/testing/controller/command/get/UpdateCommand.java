@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.get;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.dto.UpdateReportDTO;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
@@ -17,7 +17,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class UpdateCommand implements Command {
+public class UpdateCommand implements IdCommand {
 
     private final ReportService reportService;
     private final UserService userService;
@@ -30,8 +30,7 @@ public class UpdateCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException, ServletException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -41,7 +40,6 @@ public class UpdateCommand implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/userHome/update/" , ""));
         if (user.getReportsOwned().stream().noneMatch(report -> report.getId().equals(reportId))){
             logger.error("User cant update report with specified id");
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
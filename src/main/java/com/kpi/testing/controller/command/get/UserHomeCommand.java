@@ -1,6 +1,7 @@
 package com.kpi.testing.controller.command.get;
 
 import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.dao.ReportCursor;
 import com.kpi.testing.dto.ReportForUserReportTableDTO;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
@@ -13,11 +14,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -44,18 +41,23 @@ public class UserHomeCommand implements Command {
                 } catch (Exception ex) {
                     page = 0;
                 }
+                ReportCursor cursor;
+                try {
+                    cursor = Optional.ofNullable(request.getParameter("cursor")).map(ReportCursor::decode).orElse(null);
+                } catch (IllegalArgumentException ex) {
+                    cursor = null;
+                }
                 int limit = 12;
-                User user = userService.findById(userId);
+                User user = userService.findAccountById(userId);
                 String search = Optional.ofNullable(request.getParameter("search")).orElse("_");
-                List<ReportForUserReportTableDTO> reports = reportService.getAllByUserForUserTable(user, search);
-                Pagination<ReportForUserReportTableDTO>  pagination = new Pagination<>(limit, reports);
-                reports.sort(Comparator
-                        .comparing(ReportForUserReportTableDTO::getUpdated)
-                        .thenComparing(ReportForUserReportTableDTO::getId)
-                        .reversed());
-                reports = pagination.getPage(page);
+                Pagination<ReportForUserReportTableDTO> pagination = (cursor == null)
+                        ? reportService.getPageByUserForUserTable(user, search, page, limit)
+                        : reportService.getPageByUserForUserTable(user, search, cursor, limit);
                 request.setAttribute("totalPages", pagination.getTotalPages());
-                request.setAttribute("reports", reports);
+                request.setAttribute("previousCursor", pagination.getPreviousCursor());
+                request.setAttribute("nextCursor", pagination.getNextCursor());
+                request.setAttribute("reports", pagination.getPage());
+                request.setAttribute("statusCounts", reportService.getStatusCountsByOwner(user));
                 request.getRequestDispatcher("/WEB-INF/templates/home/userHome.jsp").forward(request, response);
             } catch (UsernameNotFoundException ex) {
                 logger.error("INVALID user recorded in session");
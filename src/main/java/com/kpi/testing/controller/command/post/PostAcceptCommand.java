@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.post;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
@@ -17,7 +17,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class PostAcceptCommand implements Command {
+public class PostAcceptCommand implements IdCommand {
     private final ReportService reportService;
     private static final Logger logger = getLogger(PostAcceptCommand.class);
     private final InspectorService inspectorService;
@@ -30,8 +30,7 @@ public class PostAcceptCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException, ServletException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -41,7 +40,6 @@ public class PostAcceptCommand implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/inspHome/accept/", ""));
         if (user.getReportsInspected().stream().noneMatch(report -> report.getId().equals(reportId))) {
             logger.error("Inspector cant accept report with specified id");
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
@@ -54,7 +52,11 @@ public class PostAcceptCommand implements Command {
                 response.sendRedirect(request.getContextPath() + "/app" + "/error");
                 return;
             }
-            inspectorService.acceptReport(report, user);
+            if (!inspectorService.acceptReport(report, user)) {
+                logger.error("Report left the queue before it was accepted");
+                response.sendRedirect(request.getContextPath() + "/app" + "/error");
+                return;
+            }
             response.sendRedirect(request.getContextPath() + "/app" + "/inspHome");
         } catch (UnknownReportError error) {
             logger.error("Report with specified id not found");
@@ -1,16 +1,21 @@
 package com.kpi.testing.controller.command.post;
 
+import com.kpi.testing.controller.AsyncResponder;
 import com.kpi.testing.controller.command.Command;
 import com.kpi.testing.dto.AddReportDTO;
 import com.kpi.testing.entity.User;
+import com.kpi.testing.exceptions.InvalidReportException;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
 import com.kpi.testing.service.ReportService;
+import com.kpi.testing.service.ReportWriteBehind;
 import com.kpi.testing.service.UserService;
+import com.kpi.testing.validators.NewReportValidator;
 import org.slf4j.Logger;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -18,6 +23,7 @@ public class PostAddCommand implements Command {
 
     private final ReportService reportService;
     private final UserService userService;
+    private final NewReportValidator validator = new NewReportValidator();
     private static final Logger logger = getLogger(PostAddCommand.class);
 
 
@@ -35,14 +41,22 @@ public class PostAddCommand implements Command {
         AddReportDTO report = new AddReportDTO();
         report.setName(name);
         report.setDescription(description);
+        try {
+            validator.validate(report);
+        } catch (InvalidReportException ex) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
         Long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
         try {
-            User user = userService.findById(userId);
+            User user = userService.findAccountById(userId);
             reportService.save(report, user);
             response.sendRedirect(request.getContextPath() + "/app" + "/userHome");
         } catch (UsernameNotFoundException ex) {
             logger.error("INVALID user recorded in session");
             response.sendError(403);
+        } catch (RejectedExecutionException ex) {
+            AsyncResponder.overloaded(response, ReportWriteBehind.getInstance().getRetryAfterSeconds());
         }
     }
 }
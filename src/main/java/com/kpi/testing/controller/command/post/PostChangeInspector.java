@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.post;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.controller.command.get.UpdateCommand;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
@@ -18,7 +18,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class PostChangeInspector implements Command {
+public class PostChangeInspector implements IdCommand {
 
     private final ReportService reportService;
     private final UserService userService;
@@ -32,8 +32,7 @@ public class PostChangeInspector implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException, ServletException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -43,7 +42,6 @@ public class PostChangeInspector implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/userHome/change/", ""));
         if (user.getReportsOwned().stream().noneMatch(report -> report.getId().equals(reportId))) {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
@@ -55,7 +53,11 @@ public class PostChangeInspector implements Command {
                 response.sendRedirect(request.getContextPath() + "/app" + "/error");
                 return;
             }
-            reportOwnerService.changeInspector(reportToChange);
+            if (!reportOwnerService.changeInspector(reportToChange)) {
+                logger.error("Report changed before its inspector was changed");
+                response.sendRedirect(request.getContextPath() + "/app" + "/error");
+                return;
+            }
             response.sendRedirect(request.getContextPath() + "/app" + "/userHome");
         } catch (UnknownReportError error) {
             logger.error("Report with specified id not found");
@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.post;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.dto.DeclineReasonDTO;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
@@ -18,7 +18,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class PostDeclineCommand implements Command {
+public class PostDeclineCommand implements IdCommand {
 
     private final ReportService reportService;
     private static final Logger logger = getLogger(PostDeclineCommand.class);
@@ -32,8 +32,7 @@ public class PostDeclineCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException, ServletException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -43,7 +42,6 @@ public class PostDeclineCommand implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/inspHome/decline/" , ""));
         if (user.getReportsInspected().stream().noneMatch(report -> report.getId().equals(reportId))){
             logger.error("Inspector cant decline report with specified id");
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
@@ -57,7 +55,11 @@ public class PostDeclineCommand implements Command {
                 return;
             }
             DeclineReasonDTO declineReasonDTO = new DeclineReasonDTO(request.getParameter("declineReason"));
-            inspectorService.declineReport(report, declineReasonDTO, user);
+            if (!inspectorService.declineReport(report, declineReasonDTO, user)) {
+                logger.error("Report left the queue before it was declined");
+                response.sendRedirect(request.getContextPath() + "/app" + "/error");
+                return;
+            }
             response.sendRedirect(request.getContextPath() + "/app" + "/inspHome");
         } catch (UnknownReportError error) {
             logger.error("Report with specified id not found");
@@ -0,0 +1,135 @@
+package com.kpi.testing.controller.command.post;
+
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.security.XSSRequestWrapper;
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.exceptions.UsernameNotFoundException;
+import com.kpi.testing.service.ReportImportService;
+import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.imports.ImportFormat;
+import com.kpi.testing.util.imports.ReportRecordReader;
+import org.slf4j.Logger;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Imports an uploaded XML or JSON file of reports. The outcome is written as plain text lines while the
+ * import runs: one line per stored batch, one per rejected record and a summary at the end.
+ */
+public class PostImportCommand implements Command {
+    private static final int PAYLOAD_TOO_LARGE = 413;
+
+    private final ReportImportService importService;
+    private final UserService userService;
+    private static final Logger logger = getLogger(PostImportCommand.class);
+
+    public PostImportCommand(ReportImportService importService, UserService userService) {
+        this.importService = importService;
+        this.userService = userService;
+    }
+
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        Part part;
+        try {
+            part = request.getPart("file");
+        } catch (IllegalStateException ex) {
+            response.sendError(PAYLOAD_TOO_LARGE);
+            return;
+        }
+        if (part == null || part.getSize() == 0) {
+            response.sendRedirect(request.getContextPath() + "/app" + "/userHome/import");
+            return;
+        }
+        Long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
+        User user;
+        try {
+            user = userService.findAccountById(userId);
+        } catch (UsernameNotFoundException ex) {
+            logger.error("INVALID user recorded in session");
+            response.sendError(403);
+            return;
+        }
+        ImportFormat format = ImportFormat.of(part.getSubmittedFileName(), part.getContentType());
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        WriterProgress progress = new WriterProgress(out);
+        try (InputStream in = part.getInputStream(); ReportRecordReader reader = new EscapingReader(format.open(in))) {
+            int imported = importService.importReports(user, reader, progress);
+            out.println("done: " + imported + " imported, " + progress.rejected + " rejected, " + progress.failed + " failed");
+        } catch (IOException ex) {
+            logger.info("Import of {} stopped: {}", part.getSubmittedFileName(), ex.getMessage());
+            out.println("stopped, malformed file: " + ex.getMessage());
+        }
+        out.flush();
+    }
+
+    /**
+     * Uploaded files skip {@link XSSRequestWrapper}, so the text fields are escaped here the same way.
+     */
+    private static class EscapingReader implements ReportRecordReader {
+        private final ReportRecordReader reader;
+
+        EscapingReader(ReportRecordReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public AddReportDTO next() throws IOException {
+            AddReportDTO report = reader.next();
+            if (report != null) {
+                report.setName(escape(report.getName()));
+                report.setDescription(escape(report.getDescription()));
+            }
+            return report;
+        }
+
+        private static String escape(String value) {
+            return (value == null) ? null : XSSRequestWrapper.cleanXSS(value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class WriterProgress implements ReportImportService.Progress {
+        private final PrintWriter out;
+        private int rejected;
+        private int failed;
+
+        WriterProgress(PrintWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void imported(int total) {
+            out.println("imported " + total);
+            out.flush();
+        }
+
+        @Override
+        public void rejected(int record, String reason) {
+            rejected++;
+            out.println("record " + record + " rejected: " + reason);
+        }
+
+        @Override
+        public void failed(int records, String reason) {
+            failed += records;
+            out.println(records + " records not stored: " + reason);
+            out.flush();
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package com.kpi.testing.controller.command.post;
 
+import com.kpi.testing.controller.AsyncResponder;
 import com.kpi.testing.controller.command.Command;
 import com.kpi.testing.controller.security.AuthorizationInterceptor;
+import com.kpi.testing.controller.security.LoginThrottle;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.Status;
-import com.kpi.testing.exceptions.InvalidUserException;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
 import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.PasswordHasher;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 public class PostLoginCommand implements Command {
+    private static final int TOO_MANY_REQUESTS = 429;
     private final AuthorizationInterceptor authorizationInterceptor;
     UserService userService;
 
@@ -23,28 +29,55 @@ public class PostLoginCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        if(request.getSession().getAttribute("user") == null) {
-            HttpSession session = request.getSession();
-            User user;
-            try {
-                String EMAIL_PARAM = "email";
-                String email = request.getParameter(EMAIL_PARAM);
-                String PASSWORD_PARAM = "password";
-                String password = request.getParameter(PASSWORD_PARAM);
-                String rememberMe = request.getParameter("remember-me");
-                user = authorizationInterceptor.loadUserByEmail(email);
-                user = authorizationInterceptor.matchPasswords(user, password);
-                if(user.getStatus().equals(Status.Deleted)){
-                    response.sendRedirect(request.getContextPath() + "/app" + "/accounts/login?error=true");
-                }
-                authorizationInterceptor.createSession(session, user, rememberMe);
-            } catch (UsernameNotFoundException | InvalidUserException e) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        if(request.getSession().getAttribute("user") != null) {
+            response.sendRedirect(request.getContextPath()+"/app" + "/index");
+            return;
+        }
+        HttpSession session = request.getSession();
+        String EMAIL_PARAM = "email";
+        String email = request.getParameter(EMAIL_PARAM);
+        String PASSWORD_PARAM = "password";
+        String password = request.getParameter(PASSWORD_PARAM);
+        String rememberMe = request.getParameter("remember-me");
+        if (!LoginThrottle.getInstance().tryAcquire(request.getRemoteAddr(), email)) {
+            response.setHeader("Retry-After", String.valueOf(LoginThrottle.getInstance().getRetryAfterSeconds()));
+            response.sendError(TOO_MANY_REQUESTS);
+            return;
+        }
+        User user;
+        CompletableFuture<Boolean> passwordCheck;
+        try {
+            user = authorizationInterceptor.loadUserByEmail(email);
+            passwordCheck = authorizationInterceptor.checkPassword(user, password);
+        } catch (UsernameNotFoundException e) {
+            loginFailed(request, response);
+            return;
+        } catch (RejectedExecutionException e) {
+            AsyncResponder.overloaded(response, PasswordHasher.getInstance().getRetryAfterSeconds());
+            return;
+        }
+        AsyncResponder.await(request, response, passwordCheck,
+                PasswordHasher.getInstance().getRetryAfterSeconds(), (matches, error) -> {
+            if (error != null) {
+                throw new ServletException(error);
+            }
+            if (!matches) {
+                loginFailed(request, response);
+                return;
+            }
+            if(user.getStatus().equals(Status.Deleted)){
                 response.sendRedirect(request.getContextPath() + "/app" + "/accounts/login?error=true");
                 return;
             }
-        }
-        response.sendRedirect(request.getContextPath()+"/app" + "/index");
+            authorizationInterceptor.createSession(session, user, rememberMe);
+            authorizationInterceptor.upgradeHash(user, password);
+            response.sendRedirect(request.getContextPath()+"/app" + "/index");
+        });
+    }
+
+    private void loginFailed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.sendRedirect(request.getContextPath() + "/app" + "/accounts/login?error=true");
     }
 }
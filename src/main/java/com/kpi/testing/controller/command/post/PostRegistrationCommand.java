@@ -1,15 +1,19 @@
 package com.kpi.testing.controller.command.post;
 
+import com.kpi.testing.controller.AsyncResponder;
 import com.kpi.testing.controller.command.Command;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.exceptions.InvalidUserException;
 import com.kpi.testing.exceptions.UserExistsException;
 import com.kpi.testing.service.UserService;
+import com.kpi.testing.util.PasswordHasher;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 public class PostRegistrationCommand implements Command {
     UserService userService;
@@ -21,11 +25,28 @@ public class PostRegistrationCommand implements Command {
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         User user = userService.extractUserFromRegistration(request);
+        CompletableFuture<String> passwordHash;
         try {
-            userService.registration(user);
-        } catch (InvalidUserException | UserExistsException e) {
+            passwordHash = userService.prepareRegistration(user);
+        } catch (InvalidUserException e) {
             response.sendRedirect(request.getContextPath() + "/app" + "/accounts/registration?error=true");
+            return;
+        } catch (RejectedExecutionException e) {
+            AsyncResponder.overloaded(response, PasswordHasher.getInstance().getRetryAfterSeconds());
+            return;
         }
-        response.sendRedirect(request.getContextPath() + "/app" + "/accounts/login");
+        AsyncResponder.await(request, response, passwordHash,
+                PasswordHasher.getInstance().getRetryAfterSeconds(), (hash, error) -> {
+            if (error != null) {
+                throw new ServletException(error);
+            }
+            try {
+                userService.completeRegistration(user, hash);
+            } catch (UserExistsException e) {
+                response.sendRedirect(request.getContextPath() + "/app" + "/accounts/registration?error=true");
+                return;
+            }
+            response.sendRedirect(request.getContextPath() + "/app" + "/accounts/login");
+        });
     }
 }
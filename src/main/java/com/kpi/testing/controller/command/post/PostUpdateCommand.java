@@ -1,6 +1,6 @@
 package com.kpi.testing.controller.command.post;
 
-import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
 import com.kpi.testing.dto.UpdateReportDTO;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
@@ -16,7 +16,7 @@ import java.io.IOException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class PostUpdateCommand implements Command {
+public class PostUpdateCommand implements IdCommand {
 
     private final ReportService reportService;
     private final UserService userService;
@@ -28,8 +28,7 @@ public class PostUpdateCommand implements Command {
     }
 
     @Override
-    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        String path = request.getRequestURI();
+    public void execute(HttpServletRequest request, HttpServletResponse response, Long reportId) throws IOException {
         User user;
         try {
             long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
@@ -39,7 +38,6 @@ public class PostUpdateCommand implements Command {
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
             return;
         }
-        Long reportId = Long.parseLong(path.replaceAll(".*/app/userHome/update/" , ""));
         if (user.getReportsOwned().stream().noneMatch(report -> report.getId().equals(reportId))){
             logger.error("User cant update report with specified id");
             response.sendRedirect(request.getContextPath() + "/app" + "/error");
@@ -61,7 +59,11 @@ public class PostUpdateCommand implements Command {
             updateReportDTO.setDeclineReason(reportToUpdate.getDeclineReason());
             updateReportDTO.setName(name);
             updateReportDTO.setDescription(description);
-            reportService.update(reportToUpdate, updateReportDTO);
+            if (!reportService.update(reportToUpdate, updateReportDTO)) {
+                logger.error("Report changed before it was updated");
+                response.sendRedirect(request.getContextPath() + "/app" + "/error");
+                return;
+            }
             response.sendRedirect(request.getContextPath() + "/app" + "/userHome");
         } catch (UnknownReportError error) {
             logger.error("Report with specified id not found");
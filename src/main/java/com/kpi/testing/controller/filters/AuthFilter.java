@@ -16,24 +16,30 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 public class AuthFilter implements Filter {
     private static final Logger logger = getLogger(AuthFilter.class);
-
+    private volatile UserService userService;
 
     @Override
     public void init(FilterConfig filterConfig) {
+        userService = new UserService();
+    }
 
+    private UserService getUserService() {
+        if (userService == null) {
+            userService = new UserService();
+        }
+        return userService;
     }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
         HttpServletResponse response = (HttpServletResponse) servletResponse;
-        PermissionResolver pr = new PermissionResolver();
-        UserService userService = new UserService();
+        PermissionResolver pr = PermissionResolver.getInstance();
         Role role = Role.ROLE_GUEST;
         if (Boolean.parseBoolean(request.getSession().getAttribute("loggedIn").toString())) {
             Long userId = Long.parseLong(request.getSession().getAttribute("user").toString());
             try {
-                User user = userService.findById(userId);
+                User user = getUserService().findAccountById(userId);
                 role = user.getRole();
             } catch (UsernameNotFoundException e) {
                 logger.error("INVALID user recorded in session");
@@ -5,10 +5,18 @@ import com.kpi.testing.exceptions.InvalidUserException;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
 import com.kpi.testing.service.UserService;
 import com.kpi.testing.util.BCryptEncoder;
+import com.kpi.testing.util.PasswordHasher;
+
+import org.slf4j.Logger;
 
 import javax.servlet.http.HttpSession;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 public class AuthorizationInterceptor {
+    private static final Logger logger = getLogger(AuthorizationInterceptor.class);
     UserService userService;
     BCryptEncoder encoder = new BCryptEncoder();
 
@@ -28,6 +36,36 @@ public class AuthorizationInterceptor {
         }
     }
 
+    /**
+     * Verifies the password on the {@link PasswordHasher} pool.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> checkPassword(User user, String password) {
+        return PasswordHasher.getInstance().matches(password, user.getPassword());
+    }
+
+    /**
+     * Re-hashes the password with the current cost in the background if the stored hash is older.
+     * Best effort: when the hashing queue is full the upgrade waits for the next login.
+     */
+    public void upgradeHash(User user, String password) {
+        PasswordHasher hasher = PasswordHasher.getInstance();
+        if (!hasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            hasher.encode(password)
+                    .thenAccept(hash -> userService.updatePasswordHash(user, hash))
+                    .exceptionally(e -> {
+                        logger.warn("Password rehash failed for user " + user.getId(), e);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Password rehash postponed for user " + user.getId());
+        }
+    }
+
     public void createSession(HttpSession session, User user, String rememberMe) {
         session.setAttribute("user", user.getId());
         session.setAttribute("username", user.getUsername());
@@ -0,0 +1,62 @@
+package com.kpi.testing.controller.security;
+
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.MetricsRegistry;
+import com.kpi.testing.util.RateLimiter;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits login attempts per client address and per email, so credential stuffing is turned away
+ * before it costs a user lookup and a BCrypt check.
+ */
+public class LoginThrottle {
+    private static final String ENABLED = "login.throttle.enabled";
+    private static final String UNKNOWN_ADDRESS = "unknown";
+
+    private final boolean enabled;
+    private final RateLimiter byAddress;
+    private final RateLimiter byEmail;
+    private final int retryAfterSeconds;
+    private final LongAdder throttled;
+
+    private static class LazyHolder {
+        static final LoginThrottle INSTANCE = new LoginThrottle();
+    }
+
+    public static LoginThrottle getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private LoginThrottle() {
+        enabled = AppProperties.getBoolean(ENABLED, false);
+        byAddress = new RateLimiter(AppProperties.getInt("login.throttle.ip.burst", 20),
+                AppProperties.getInt("login.throttle.ip.perMinute", 20));
+        byEmail = new RateLimiter(AppProperties.getInt("login.throttle.email.burst", 5),
+                AppProperties.getInt("login.throttle.email.perMinute", 5));
+        retryAfterSeconds = AppProperties.getInt("login.throttle.retryAfterSeconds", 60);
+        throttled = MetricsRegistry.getInstance().counter("login_throttled_total", "Login attempts rejected by the throttle");
+    }
+
+    /**
+     * Charges one attempt to the address and, if that passes, to the email.
+     *
+     * @return false if either limit is exhausted
+     */
+    public boolean tryAcquire(String remoteAddress, String email) {
+        if (!enabled) {
+            return true;
+        }
+        boolean allowed = byAddress.tryAcquire((remoteAddress == null) ? UNKNOWN_ADDRESS : remoteAddress)
+                && (email == null || byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT)));
+        if (!allowed) {
+            throttled.increment();
+        }
+        return allowed;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
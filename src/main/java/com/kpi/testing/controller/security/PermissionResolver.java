@@ -1,38 +1,88 @@
 package com.kpi.testing.controller.security;
 
+import com.kpi.testing.controller.Router;
 import com.kpi.testing.entity.enums.Role;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Decides whether a role may open a path. Patterns are compiled once and decisions are memoized
+ * per role and {@link Router#template(String) route template}, so a repeated request costs one lock-free
+ * map lookup. The patterns never mention ids, so a template gets the same decision as its paths.
+ * Once {@value #MEMO_SIZE} templates are known, further ones are decided without being memoized.
+ */
 public class PermissionResolver {
+    private static final int MEMO_SIZE = 4096;
+
     private final Map<Role, Set<String>> permissions = new HashMap<>();
     final Set<String> COMMON_PAGES = new HashSet<>(Arrays.asList("index", "accounts/logout", ".*/tax/static/css/.*", ".*/tax/static/js/.*"));
     final Set<String> GUEST_PAGES = new HashSet<>(Arrays.asList("accounts/login", "accounts/registration"));
     final Set<String> USER_PAGES = new HashSet<>(Arrays.asList("userHome/.*", "userHome"));
     final Set<String> INSP_PAGES = new HashSet<>(Arrays.asList("inspHome/.*", "inspHome"));
 
+    private final Map<Role, List<Pattern>> rolePatterns = new EnumMap<>(Role.class);
+    private final List<Pattern> commonPatterns;
+    private final List<Pattern> protectedPatterns;
+    private final Map<Role, Map<String, Boolean>> decisions = new EnumMap<>(Role.class);
+
+    private static class LazyHolder {
+        static final PermissionResolver INSTANCE = new PermissionResolver();
+    }
+
+    public static PermissionResolver getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
     public PermissionResolver() {
         permissions.put(Role.ROLE_GUEST, GUEST_PAGES);
         permissions.put(Role.ROLE_USER, USER_PAGES);
         permissions.put(Role.ROLE_INSPECTOR, INSP_PAGES);
+        permissions.forEach((role, pages) -> rolePatterns.put(role, compile(pages)));
+        commonPatterns = compile(COMMON_PAGES);
+        protectedPatterns = rolePatterns.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        for (Role role : Role.values()) {
+            decisions.put(role, new ConcurrentHashMap<>());
+        }
     }
 
     public boolean isAbleToAccess (HttpServletRequest request, HttpServletResponse response, Role role) {
+        String template = Router.template(Router.path(request.getRequestURI()));
+        Map<String, Boolean> memo = decisions.get(role);
+        Boolean decision = memo.get(template);
+        if (decision == null) {
+            decision = decide(template, role);
+            if (memo.size() < MEMO_SIZE) {
+                memo.putIfAbsent(template, decision);
+            }
+        }
+        return decision;
+    }
 
-        String path = request.getRequestURI();
-        path = path.replaceAll(".*/app/" , "");
-
-        String finalPath = path;
-        if(permissions.values().stream().noneMatch(set -> set.stream().anyMatch(finalPath::matches))){
+    private boolean decide(String path, Role role) {
+        if (!anyMatch(protectedPatterns, path)) {
             return true; //404 error Page Not Found
         }
-
-        if( COMMON_PAGES.stream().anyMatch(path::matches)){
+        if (anyMatch(commonPatterns, path)) {
             return true;
         }
+        return anyMatch(rolePatterns.getOrDefault(role, Collections.emptyList()), path);
+    }
+
+    private static boolean anyMatch(List<Pattern> patterns, String path) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(path).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return permissions.get(role).stream().anyMatch(path::matches);
+    private static List<Pattern> compile(Set<String> pages) {
+        return pages.stream().map(Pattern::compile).collect(Collectors.toList());
     }
 }
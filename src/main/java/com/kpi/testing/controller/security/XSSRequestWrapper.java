@@ -2,52 +2,128 @@ package com.kpi.testing.controller.security;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.text.Normalizer;
+import java.util.*;
 
+/**
+ * Escapes request parameters and headers. Each value is cleaned once per request and then
+ * served from the wrapper, since filters and commands read the same parameters repeatedly.
+ */
 public class XSSRequestWrapper extends HttpServletRequestWrapper {
+    /**
+     * Stored password hashes were made from values escaped without the double quote, so these
+     * parameters keep that character set or existing users could no longer log in.
+     */
+    private static final Set<String> CREDENTIALS = new HashSet<>(Arrays.asList("password", "confirmPassword"));
+
+    private final Map<String, String[]> parameters = new HashMap<>();
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private Map<String, String[]> parameterMap;
+
     public XSSRequestWrapper(HttpServletRequest request) {
         super(request);
     }
+
     public String[] getParameterValues(String parameter) {
+        String[] values = cleanValues(parameter);
+        return (values == null) ? null : values.clone();
+    }
 
-        String[] values = super.getParameterValues(parameter);
-        if (values==null)  {
-            return null;
+    public String getParameter(String parameter) {
+        String[] values = cleanValues(parameter);
+        return (values == null || values.length == 0) ? null : values[0];
+    }
+
+    public Map<String, String[]> getParameterMap() {
+        if (parameterMap == null) {
+            Map<String, String[]> cleaned = new LinkedHashMap<>();
+            for (String name : super.getParameterMap().keySet()) {
+                cleaned.put(name, cleanValues(name));
+            }
+            parameterMap = Collections.unmodifiableMap(cleaned);
         }
-        int count = values.length;
-        String[] encodedValues = new String[count];
-        for (int i = 0; i < count; i++) {
-            encodedValues[i] = cleanXSS(values[i]);
+        return parameterMap;
+    }
+
+    public String getHeader(String name) {
+        if (!headers.containsKey(name)) {
+            String value = super.getHeader(name);
+            headers.put(name, (value == null) ? null : cleanXSS(value));
         }
-        return encodedValues;
+        return headers.get(name);
     }
 
-    public String getParameter(String parameter) {
-        String value = super.getParameter(parameter);
-        if (value == null) {
-            return null;
+    private String[] cleanValues(String parameter) {
+        if (parameters.containsKey(parameter)) {
+            return parameters.get(parameter);
+        }
+        String[] values = super.getParameterValues(parameter);
+        String[] encodedValues = null;
+        if (values != null) {
+            boolean credential = CREDENTIALS.contains(parameter);
+            encodedValues = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                encodedValues[i] = credential ? cleanCredential(values[i]) : cleanXSS(values[i]);
+            }
         }
-        return cleanXSS(value);
+        parameters.put(parameter, encodedValues);
+        return encodedValues;
     }
 
-    public String getHeader(String name) {
-        String value = super.getHeader(name);
-        if (value == null)
-            return null;
-        return cleanXSS(value);
+    /**
+     * Replaces {@code < > ( ) ' "} with HTML entities in one pass; returns the value itself when
+     * there is nothing to escape.
+     */
+    public static String cleanXSS(String value) {
+        return escape(value, true);
+    }
 
+    /**
+     * Same as {@link #cleanXSS(String)} but leaves {@code "} as it is, like the escaping passwords
+     * were hashed with.
+     */
+    public static String cleanCredential(String value) {
+        return escape(value, false);
     }
 
-    private String cleanXSS(String value) {
-        String s = Normalizer.normalize(value, Normalizer.Form.NFKC);
-        s = s.replaceAll("[\\p{Cn}]", "\uFFFD");
-        value = value.replaceAll("<", "&lt;").replaceAll(">", "&gt;");
-        value = value.replaceAll("\\(", "&#40;").replaceAll("\\)", "&#41;");
-        value = value.replaceAll("'", "&#39;");
-        value = value.replaceAll("eval\\((.*)\\)", "");
-        value = value.replaceAll("[\"'][\\s]*javascript:(.*)[\"']", "\"\"");
-        //value = value.replaceAll("script", "");
-        return value;
+    private static String escape(String value, boolean quotes) {
+        int length = value.length();
+        int first = 0;
+        while (first < length && entity(value.charAt(first), quotes) == null) {
+            first++;
+        }
+        if (first == length) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(length + 16);
+        result.append(value, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = value.charAt(i);
+            String entity = entity(c, quotes);
+            if (entity == null) {
+                result.append(c);
+            } else {
+                result.append(entity);
+            }
+        }
+        return result.toString();
     }
 
+    private static String entity(char c, boolean quotes) {
+        switch (c) {
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '(':
+                return "&#40;";
+            case ')':
+                return "&#41;";
+            case '\'':
+                return "&#39;";
+            case '"':
+                return quotes ? "&#34;" : null;
+            default:
+                return null;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.kpi.testing.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,6 +9,13 @@ public interface BaseDAO<T> {
     void create (T entity);
     Optional<T> findById(Long id);
     List<T> findAll();
+
+    /**
+     * Loads the entities with the given ids in as few queries as possible.
+     *
+     * @return the entities found, in the order of their first id in {@code ids}; unknown ids are skipped
+     */
+    List<T> findAllByIds(Collection<Long> ids);
     void update(T entity);
     void delete(Long id);
 }
@@ -3,14 +3,24 @@ package com.kpi.testing.dao;
 import com.kpi.testing.dao.impl.JDBCDaoFactory;
 import com.kpi.testing.dao.impl.JDBCSqlExecutor;
 
+import javax.sql.DataSource;
+
 public abstract class DaoFactory {
     private static DaoFactory daoFactory;
 
     public abstract UserDAO createUserDao();
     public abstract ReportDAO createReportDao();
     public abstract ArchiveDAO createArchiveDao();
+    public abstract UserDAO createCachedUserDao();
+    public abstract ReportDAO createCachedReportDao();
     public abstract JDBCSqlExecutor createExecutor();
 
+    /**
+     * @return the pool itself, without the transactional wrapper the DAOs get; {@link TransactionManager}
+     * opens its connections here
+     */
+    public abstract DataSource getPooledDataSource();
+
 
     public static DaoFactory getInstance(){
         if (daoFactory == null) {
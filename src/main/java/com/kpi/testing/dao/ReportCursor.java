@@ -0,0 +1,70 @@
+package com.kpi.testing.dao;
+
+import com.kpi.testing.entity.Report;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque position in a report listing used for keyset (seek) pagination.
+ * Owner listings seek on {@code (updated, id)}, inspector listings only on {@code id}.
+ */
+public class ReportCursor {
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate updated;
+    private final Long id;
+    private final boolean backward;
+
+    private ReportCursor(LocalDate updated, Long id, boolean backward) {
+        this.updated = updated;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    public static ReportCursor after(Report report) {
+        return new ReportCursor(report.getUpdated(), report.getId(), false);
+    }
+
+    public static ReportCursor before(Report report) {
+        return new ReportCursor(report.getUpdated(), report.getId(), true);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static ReportCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new IllegalArgumentException("Malformed cursor " + cursor);
+            }
+            return new ReportCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]), BACKWARD.equals(parts[0]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor, ex);
+        }
+    }
+
+    public String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + SEPARATOR
+                + (updated == null ? "" : updated.toString()) + SEPARATOR
+                + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getUpdated() {
+        return updated;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+}
@@ -5,9 +5,54 @@ import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReportDAO extends BaseDAO<Report>{
     List<Report> findByOwnerWhereNameLike(User user, String name);
     List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name);
+    List<Report> findByOwnerWhereNameLike(User user, String name, int page, int size, ReportSort sort);
+    long countByOwnerWhereNameLike(User user, String name);
+    List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name, int page, int size, ReportSort sort);
+    long countByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name);
+    List<Report> findByOwnerWhereNameLike(User user, String name, ReportCursor cursor, int limit);
+    List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name, ReportCursor cursor, int limit);
+    void createAll(List<Report> reports);
+
+    /**
+     * Updates the report like {@link #update(Object)}, but only if its stored status is still {@code expected},
+     * so two users moving the same report at once cannot both succeed.
+     *
+     * @return false if the report was in another status and nothing was written
+     */
+    boolean updateIfStatus(Report report, ReportStatus expected);
+    void rebuildNameIndex();
+
+    /**
+     * Passes every report of the owner to the consumer as it is read, without building a list.
+     * Inspectors are not loaded.
+     */
+    void streamByOwner(User owner, Consumer<Report> consumer);
+
+    /**
+     * Passes every report assigned to the inspector to the consumer as it is read, without building a list.
+     * Inspectors are not loaded.
+     */
+    void streamByInspector(User inspector, Consumer<Report> consumer);
+
+    /**
+     * @return number of reports in the status per assigned inspector id; inspectors without any are absent
+     */
+    Map<Long, Integer> countByInspectorAndStatus(ReportStatus status);
+
+    /**
+     * @return number of reports per status for every owner
+     */
+    Map<Long, Map<ReportStatus, Long>> countByOwnerGroupByStatus();
+
+    /**
+     * @return number of assigned reports per status for every inspector
+     */
+    Map<Long, Map<ReportStatus, Long>> countByInspectorGroupByStatus();
 }
@@ -0,0 +1,16 @@
+package com.kpi.testing.dao;
+
+public enum ReportSort {
+    UPDATED_DESC("reports.updated desc, reports.id desc"),
+    ID_ASC("reports.id asc");
+
+    private final String orderBy;
+
+    ReportSort(String orderBy) {
+        this.orderBy = orderBy;
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+}
@@ -0,0 +1,200 @@
+package com.kpi.testing.dao;
+
+import org.slf4j.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Thread-bound unit of work. Inside {@link #inTransaction(Supplier)} every DAO created by
+ * {@link DaoFactory} gets the same connection, and the DAOs' own commits, rollbacks and closes are
+ * deferred until the outermost call returns. Nested calls join the running transaction. If a DAO rolled
+ * back, the outermost call rolls the whole unit back and throws {@link IllegalStateException} instead of
+ * returning, and no {@link #afterCommit(Runnable)} action runs.
+ */
+public class TransactionManager {
+    private static final Logger logger = getLogger(TransactionManager.class);
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+    private static volatile DataSource dataSource;
+
+    private TransactionManager() {}
+
+    /**
+     * Replaces the data source units of work take their connection from; null goes back to
+     * {@link DaoFactory#getPooledDataSource()}. Meant for tests.
+     */
+    public static void setDataSource(DataSource source) {
+        dataSource = source;
+    }
+
+    public static void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static <T> T inTransaction(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        UnitOfWork unit = begin();
+        CURRENT.set(unit);
+        T result;
+        Throwable failure = null;
+        try {
+            result = work.get();
+            unit.complete();
+        } catch (RuntimeException | Error exception) {
+            failure = exception;
+            if (!unit.finished) {
+                unit.rollback(exception);
+            }
+            throw exception;
+        } finally {
+            CURRENT.remove();
+            unit.close(failure);
+        }
+        unit.runAfterCommit();
+        return result;
+    }
+
+    /**
+     * @return connection of the running transaction, or null outside of one
+     */
+    public static Connection currentConnection() {
+        UnitOfWork unit = CURRENT.get();
+        return (unit == null) ? null : unit.connection;
+    }
+
+    /**
+     * Tells the running transaction that a DAO rolled back, so it must not commit.
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            unit.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Runs the action once the running transaction commits, or immediately outside of one.
+     * Used for in-memory state that must not see uncommitted rows. A failing action is logged and
+     * does not stop the others; the transaction stays committed.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit == null) {
+            action.run();
+        } else {
+            unit.afterCommit.add(action);
+        }
+    }
+
+    private static UnitOfWork begin() {
+        DataSource source = (dataSource != null) ? dataSource : DaoFactory.getInstance().getPooledDataSource();
+        Connection connection;
+        try {
+            connection = source.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            try {
+                connection.close();
+            } catch (SQLException closing) {
+                e.addSuppressed(closing);
+            }
+            throw new RuntimeException(e);
+        }
+        return new UnitOfWork(connection);
+    }
+
+    private static class UnitOfWork {
+        private final Connection connection;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private boolean rollbackOnly;
+        private boolean finished;
+
+        private UnitOfWork(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Commits, or rolls back and throws if a DAO asked for it. Either way the unit is finished
+         * and must not be rolled back again.
+         */
+        private void complete() {
+            finished = true;
+            if (rollbackOnly) {
+                IllegalStateException exception = new IllegalStateException("transaction rolled back");
+                rollback(exception);
+                throw exception;
+            }
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                RuntimeException exception = new RuntimeException(e);
+                rollback(exception);
+                throw exception;
+            }
+        }
+
+        private void rollback(Throwable cause) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        private void runAfterCommit() {
+            for (Runnable action : afterCommit) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.error("After-commit action failed", e);
+                }
+            }
+        }
+
+        /**
+         * Hands the connection back to the pool even if restoring auto-commit fails. A failure here is
+         * added to {@code failure} when the unit already failed, and only logged otherwise.
+         */
+        private void close(Throwable failure) {
+            SQLException cleanup = null;
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                cleanup = e;
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    if (cleanup == null) {
+                        cleanup = e;
+                    } else {
+                        cleanup.addSuppressed(e);
+                    }
+                }
+            }
+            if (cleanup == null) {
+                return;
+            }
+            if (failure != null) {
+                failure.addSuppressed(cleanup);
+            } else {
+                logger.warn("Releasing the transaction's connection failed", cleanup);
+            }
+        }
+    }
+}
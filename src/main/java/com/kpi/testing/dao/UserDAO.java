@@ -10,4 +10,9 @@ public interface UserDAO extends BaseDAO<User>{
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     List<User> findAllByRole(Role role);
+
+    /**
+     * @return the plain user row, without the report lists {@link #findById(Long)} loads
+     */
+    Optional<User> findAccountById(Long id);
 }
@@ -0,0 +1,207 @@
+package com.kpi.testing.dao.impl;
+
+import com.kpi.testing.dao.ReportCursor;
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.ReportSort;
+import com.kpi.testing.dao.TransactionManager;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.BoundedCache;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Serves {@link #findById(Long)} and {@link #findAllByIds(Collection)} from a shared cache; listings go to the wrapped DAO.
+ * Writes evict the report. Callers get copies, owner and inspectors included.
+ */
+public class CachingReportDAO implements ReportDAO {
+    private final ReportDAO delegate;
+    private final BoundedCache<Long, Report> cache;
+
+    public CachingReportDAO(ReportDAO delegate, BoundedCache<Long, Report> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    static Report copy(Report report) {
+        Report copy = Report.builder()
+                .id(report.getId())
+                .name(report.getName())
+                .description(report.getDescription())
+                .declineReason(report.getDeclineReason())
+                .status(report.getStatus())
+                .owner((report.getOwner() == null) ? null : CachingUserDAO.copy(report.getOwner()))
+                .inspectors(report.getInspectors().stream().map(CachingUserDAO::copy).collect(Collectors.toList()))
+                .archives(new ArrayList<>(report.getArchives()))
+                .created(report.getCreated())
+                .updated(report.getUpdated())
+                .build();
+        if (report.getStoredInspectorIds() != null) {
+            copy.setStoredInspectorIds(new HashSet<>(report.getStoredInspectorIds()));
+        }
+        return copy;
+    }
+
+    @Override
+    public Optional<Report> findById(Long id) {
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null))).map(CachingReportDAO::copy);
+    }
+
+    @Override
+    public List<Report> findAllByIds(Collection<Long> ids) {
+        Map<Long, Report> found = cache.getAll(new LinkedHashSet<>(ids), missing -> {
+            Map<Long, Report> loaded = new HashMap<>();
+            delegate.findAllByIds(missing).forEach(report -> loaded.put(report.getId(), report));
+            return loaded;
+        });
+        List<Report> result = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Report report = found.get(id);
+            if (report != null) {
+                result.add(copy(report));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void streamByOwner(User owner, Consumer<Report> consumer) {
+        delegate.streamByOwner(owner, consumer);
+    }
+
+    @Override
+    public void streamByInspector(User inspector, Consumer<Report> consumer) {
+        delegate.streamByInspector(inspector, consumer);
+    }
+
+    @Override
+    public Map<Long, Integer> countByInspectorAndStatus(ReportStatus status) {
+        return delegate.countByInspectorAndStatus(status);
+    }
+
+    @Override
+    public Map<Long, Map<ReportStatus, Long>> countByOwnerGroupByStatus() {
+        return delegate.countByOwnerGroupByStatus();
+    }
+
+    @Override
+    public Map<Long, Map<ReportStatus, Long>> countByInspectorGroupByStatus() {
+        return delegate.countByInspectorGroupByStatus();
+    }
+
+    @Override
+    public List<Report> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Report> findByOwnerWhereNameLike(User user, String name) {
+        return delegate.findByOwnerWhereNameLike(user, name);
+    }
+
+    @Override
+    public List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name) {
+        return delegate.findAllByInspectorsAndStatusWhereNameLike(inspector, status, name);
+    }
+
+    @Override
+    public List<Report> findByOwnerWhereNameLike(User user, String name, int page, int size, ReportSort sort) {
+        return delegate.findByOwnerWhereNameLike(user, name, page, size, sort);
+    }
+
+    @Override
+    public long countByOwnerWhereNameLike(User user, String name) {
+        return delegate.countByOwnerWhereNameLike(user, name);
+    }
+
+    @Override
+    public List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name,
+                                                                 int page, int size, ReportSort sort) {
+        return delegate.findAllByInspectorsAndStatusWhereNameLike(inspector, status, name, page, size, sort);
+    }
+
+    @Override
+    public long countByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name) {
+        return delegate.countByInspectorsAndStatusWhereNameLike(inspector, status, name);
+    }
+
+    @Override
+    public List<Report> findByOwnerWhereNameLike(User user, String name, ReportCursor cursor, int limit) {
+        return delegate.findByOwnerWhereNameLike(user, name, cursor, limit);
+    }
+
+    @Override
+    public List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name,
+                                                                 ReportCursor cursor, int limit) {
+        return delegate.findAllByInspectorsAndStatusWhereNameLike(inspector, status, name, cursor, limit);
+    }
+
+    @Override
+    public void rebuildNameIndex() {
+        delegate.rebuildNameIndex();
+    }
+
+    @Override
+    public void create(Report entity) {
+        try {
+            delegate.create(entity);
+        } finally {
+            invalidate(Collections.singletonList(entity));
+        }
+    }
+
+    @Override
+    public void createAll(List<Report> reports) {
+        try {
+            delegate.createAll(reports);
+        } finally {
+            invalidate(reports);
+        }
+    }
+
+    @Override
+    public void update(Report entity) {
+        try {
+            delegate.update(entity);
+        } finally {
+            invalidate(Collections.singletonList(entity));
+        }
+    }
+
+    @Override
+    public boolean updateIfStatus(Report entity, ReportStatus expected) {
+        try {
+            return delegate.updateIfStatus(entity, expected);
+        } finally {
+            invalidate(Collections.singletonList(entity));
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            invalidate(Collections.singleton(id));
+        }
+    }
+
+    private void invalidate(List<Report> reports) {
+        Set<Long> reportIds = new HashSet<>();
+        for (Report report : reports) {
+            if (report.getId() != null) {
+                reportIds.add(report.getId());
+            }
+        }
+        invalidate(reportIds);
+    }
+
+    private void invalidate(Set<Long> reportIds) {
+        Runnable eviction = () -> reportIds.forEach(cache::invalidate);
+        eviction.run();
+        TransactionManager.afterCommit(eviction);
+    }
+}
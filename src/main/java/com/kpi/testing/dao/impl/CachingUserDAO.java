@@ -0,0 +1,115 @@
+package com.kpi.testing.dao.impl;
+
+import com.kpi.testing.dao.TransactionManager;
+import com.kpi.testing.dao.UserDAO;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.Role;
+import com.kpi.testing.util.BoundedCache;
+
+import java.util.*;
+
+/**
+ * Serves {@link #findAccountById(Long)} and {@link #findAllByIds(Collection)} from a shared cache of plain
+ * user rows; every other call goes to the wrapped DAO. The report lists {@link #findById(Long)} loads are
+ * never cached. Callers get copies, so mutating a returned user does not touch the cached one.
+ */
+public class CachingUserDAO implements UserDAO {
+    private final UserDAO delegate;
+    private final BoundedCache<Long, User> cache;
+
+    public CachingUserDAO(UserDAO delegate, BoundedCache<Long, User> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * @return copy of the user row, without report lists
+     */
+    static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .created(user.getCreated())
+                .updated(user.getUpdated())
+                .build();
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<User> findAccountById(Long id) {
+        return Optional.ofNullable(cache.get(id, key -> delegate.findAccountById(key).orElse(null))).map(CachingUserDAO::copy);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<User> findAllByRole(Role role) {
+        return delegate.findAllByRole(role);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        Map<Long, User> found = cache.getAll(new LinkedHashSet<>(ids), missing -> {
+            Map<Long, User> loaded = new HashMap<>();
+            delegate.findAllByIds(missing).forEach(user -> loaded.put(user.getId(), user));
+            return loaded;
+        });
+        List<User> result = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            User user = found.get(id);
+            if (user != null) {
+                result.add(copy(user));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void create(User entity) {
+        delegate.create(entity);
+    }
+
+    @Override
+    public void update(User entity) {
+        try {
+            delegate.update(entity);
+        } finally {
+            invalidate(entity.getId());
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    private void invalidate(Long id) {
+        cache.invalidate(id);
+        TransactionManager.afterCommit(() -> cache.invalidate(id));
+    }
+}
@@ -1,20 +1,34 @@
 package com.kpi.testing.dao.impl;
 
+import com.kpi.testing.util.AppProperties;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
 
 import javax.sql.DataSource;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Optional;
-import java.util.Properties;
+import java.sql.SQLException;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 public class DataSourceHolder {
-    private static String PROP_FILE = "application.properties";
+    private static final Logger logger = getLogger(DataSourceHolder.class);
     private final static String DB_URL = "db.url";
     private final static String DB_USER = "db.user";
     private final static String DB_PASSWORD = "db.password";
     private final static String DB_MAX_IDLE = "db.MaxIdle";
     private final static String DB_MAX_PREPARED_STATEMENT = "db.MaxPreparedStatements";
+    private final static String DB_POOL_PREPARED_STATEMENTS = "db.PoolPreparedStatements";
+    private final static String DB_MAX_TOTAL = "db.MaxTotal";
+    private final static String DB_MIN_IDLE = "db.MinIdle";
+    private final static String DB_INITIAL_SIZE = "db.InitialSize";
+    private final static String DB_MAX_WAIT_MILLIS = "db.MaxWaitMillis";
+    private final static String DB_VALIDATION_QUERY = "db.ValidationQuery";
+    private final static String DB_VALIDATION_QUERY_TIMEOUT = "db.ValidationQueryTimeout";
+    private final static String DB_TEST_ON_BORROW = "db.TestOnBorrow";
+    private final static String DB_TEST_WHILE_IDLE = "db.TestWhileIdle";
+    private final static String DB_EVICTION_RUN_MILLIS = "db.TimeBetweenEvictionRunsMillis";
+    private final static String DB_MIN_EVICTABLE_IDLE_MILLIS = "db.MinEvictableIdleTimeMillis";
+    private final static String DB_TESTS_PER_EVICTION_RUN = "db.NumTestsPerEvictionRun";
 
     private static volatile BasicDataSource dataSource;
 
@@ -22,38 +36,62 @@ public class DataSourceHolder {
         if (dataSource == null){
             synchronized (DataSourceHolder.class) {
                 if (dataSource == null) {
-                    dataSource = new BasicDataSource();
-                    setProp(dataSource);
+                    BasicDataSource ds = new InstrumentedDataSource();
+                    setProp(ds);
+                    dataSource = ds;
                 }
             }
         }
         return dataSource;
     }
 
-    private static void setProp(BasicDataSource ds) throws IOException {
-        try (InputStream input = DataSourceHolder.class.getClassLoader().getResourceAsStream(PROP_FILE)) {
-            Properties properties = new Properties();
-            properties.load(input);
-            ds.setUrl(properties.getProperty(DB_URL));
-            ds.setUsername(properties.getProperty(DB_USER));
-            ds.setPassword(properties.getProperty(DB_PASSWORD));
-            ds.setMaxIdle(Optional.ofNullable(getInt(properties.getProperty(DB_MAX_IDLE))).orElse(30));
-            ds.setMaxOpenPreparedStatements(Optional.ofNullable(getInt(properties.getProperty(DB_MAX_PREPARED_STATEMENT))).orElse(80));
-        }
+    /**
+     * @return the pool, wrapped for {@link SqlProfiler} when profiling is on
+     */
+    public static DataSource getProfiledDataSource() throws IOException {
+        DataSource pool = getDataSource();
+        SqlProfiler profiler = SqlProfiler.getInstance();
+        return profiler.isEnabled() ? new ProfilingDataSource(pool, profiler) : pool;
     }
 
-    private static Integer getInt(String num) {
-        try {
-            return Integer.parseInt(num);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    private static void setProp(BasicDataSource ds) {
+        ds.setUrl(AppProperties.getString(DB_URL, null));
+        ds.setUsername(AppProperties.getString(DB_USER, null));
+        ds.setPassword(AppProperties.getString(DB_PASSWORD, null));
+        ds.setMaxTotal(AppProperties.getInt(DB_MAX_TOTAL, 8));
+        ds.setMaxIdle(AppProperties.getInt(DB_MAX_IDLE, 30));
+        ds.setMinIdle(AppProperties.getInt(DB_MIN_IDLE, 0));
+        ds.setInitialSize(AppProperties.getInt(DB_INITIAL_SIZE, 0));
+        ds.setMaxWaitMillis(AppProperties.getLong(DB_MAX_WAIT_MILLIS, -1));
+        ds.setPoolPreparedStatements(AppProperties.getBoolean(DB_POOL_PREPARED_STATEMENTS, true));
+        ds.setMaxOpenPreparedStatements(AppProperties.getInt(DB_MAX_PREPARED_STATEMENT, 80));
+        ds.setValidationQuery(AppProperties.getString(DB_VALIDATION_QUERY, null));
+        ds.setValidationQueryTimeout(AppProperties.getInt(DB_VALIDATION_QUERY_TIMEOUT, -1));
+        ds.setTestOnBorrow(AppProperties.getBoolean(DB_TEST_ON_BORROW, true));
+        ds.setTestWhileIdle(AppProperties.getBoolean(DB_TEST_WHILE_IDLE, false));
+        ds.setTimeBetweenEvictionRunsMillis(AppProperties.getLong(DB_EVICTION_RUN_MILLIS, -1));
+        ds.setMinEvictableIdleTimeMillis(AppProperties.getLong(DB_MIN_EVICTABLE_IDLE_MILLIS, 30 * 60 * 1000L));
+        ds.setNumTestsPerEvictionRun(AppProperties.getInt(DB_TESTS_PER_EVICTION_RUN, 3));
     }
 
+    /**
+     * Switches to another properties file and replaces the pool with one built from it. The old pool is
+     * closed; its metrics gauges are taken over by the new one.
+     */
     public static void setProp(String prop) {
-        if (!PROP_FILE.equals(prop)) {
-            PROP_FILE = prop;
-            dataSource = null;
+        if (!AppProperties.getPropFile().equals(prop)) {
+            synchronized (DataSourceHolder.class) {
+                AppProperties.setPropFile(prop);
+                BasicDataSource old = dataSource;
+                dataSource = null;
+                if (old != null) {
+                    try {
+                        old.close();
+                    } catch (SQLException e) {
+                        logger.warn("Closing the previous connection pool failed", e);
+                    }
+                }
+            }
             try {
                 getDataSource();
             } catch (IOException ignored) {
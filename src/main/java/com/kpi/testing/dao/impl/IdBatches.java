@@ -0,0 +1,48 @@
+package com.kpi.testing.dao.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Helpers for {@code id in (...)} queries: distinct ids split into chunks that keep the statement
+ * and its parameter count bounded, and results put back into the order the ids were asked in.
+ */
+class IdBatches {
+    static final int CHUNK = 1000;
+
+    private IdBatches() {
+    }
+
+    static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.remove(null);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += CHUNK) {
+            chunks.add(distinct.subList(from, Math.min(from + CHUNK, distinct.size())));
+        }
+        return chunks;
+    }
+
+    static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    static int bind(PreparedStatement ps, int index, List<Long> ids) throws SQLException {
+        for (Long id : ids) {
+            ps.setLong(index++, id);
+        }
+        return index;
+    }
+
+    static <T> List<T> inOrder(Collection<Long> ids, Map<Long, T> found) {
+        List<T> result = new ArrayList<>(found.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T entity = found.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
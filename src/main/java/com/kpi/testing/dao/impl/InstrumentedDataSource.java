@@ -0,0 +1,119 @@
+package com.kpi.testing.dao.impl;
+
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.MetricsRegistry;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.ConnectionFactory;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * DBCP pool that publishes its state to {@link MetricsRegistry}: connections active, idle and waited for,
+ * time spent borrowing, connections created, and prepared statements served from the statement pool.
+ * <p>
+ * DBCP asks the driver for a statement only when its statement pool misses, so with {@code metrics.enabled}
+ * and pooled statements the driver connections count the statements they create, and a prepare on a
+ * borrowed connection that created none was a hit. The count is kept per thread, which is the thread
+ * holding the connection; no lock is shared between connections. With metrics off connections are
+ * handed out unwrapped.
+ */
+public class InstrumentedDataSource extends BasicDataSource {
+    private static final ThreadLocal<long[]> CREATED_BY_THREAD = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final boolean countStatements = AppProperties.getBoolean("metrics.enabled", false);
+    private final MetricsRegistry.Timer borrowTimer;
+    private final LongAdder statementsPrepared;
+    private final LongAdder statementCacheHits;
+
+    public InstrumentedDataSource() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("db_pool_active", "Connections borrowed from the pool", this::getNumActive);
+        metrics.gauge("db_pool_idle", "Connections idle in the pool", this::getNumIdle);
+        metrics.gauge("db_pool_max_total", "Pool size limit", this::getMaxTotal);
+        metrics.gauge("db_pool_waiters", "Threads waiting for a connection", () -> poolStat(GenericObjectPool::getNumWaiters));
+        metrics.gauge("db_pool_borrow_wait_mean_millis", "Mean time the pool made a borrower wait",
+                () -> poolStat(GenericObjectPool::getMeanBorrowWaitTimeMillis));
+        metrics.gauge("db_pool_borrow_wait_max_millis", "Longest time the pool made a borrower wait",
+                () -> poolStat(GenericObjectPool::getMaxBorrowWaitTimeMillis));
+        metrics.gauge("db_pool_connections_created", "Connections opened since start", () -> poolStat(GenericObjectPool::getCreatedCount));
+        metrics.gauge("db_pool_connections_destroyed", "Connections closed since start", () -> poolStat(GenericObjectPool::getDestroyedCount));
+        borrowTimer = metrics.timer("db_pool_borrow_seconds", "Time spent in getConnection");
+        statementsPrepared = metrics.counter("db_statements_prepared_total", "Prepared statements requested");
+        statementCacheHits = metrics.counter("db_statement_cache_hits_total", "Prepared statements served from the statement pool");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long started = System.nanoTime();
+        Connection connection = super.getConnection();
+        borrowTimer.record(System.nanoTime() - started);
+        return isCountingStatements() ? countingPrepares(connection) : connection;
+    }
+
+    @Override
+    protected ConnectionFactory createConnectionFactory() throws SQLException {
+        ConnectionFactory driver = super.createConnectionFactory();
+        return isCountingStatements() ? () -> countingCreations(driver.createConnection()) : driver;
+    }
+
+    private boolean isCountingStatements() {
+        return countStatements && isPoolPreparedStatements();
+    }
+
+    private long poolStat(ToLongFunction<GenericObjectPool<PoolableConnection>> stat) {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return (pool == null) ? 0 : stat.applyAsLong(pool);
+    }
+
+    /**
+     * Wraps a connection DBCP borrowed out; its prepares are looked up in the statement pool.
+     */
+    private Connection countingPrepares(Connection connection) {
+        return wrap(connection, () -> {
+            long[] created = CREATED_BY_THREAD.get();
+            long before = created[0];
+            return () -> {
+                statementsPrepared.increment();
+                if (created[0] == before) {
+                    statementCacheHits.increment();
+                }
+            };
+        });
+    }
+
+    /**
+     * Wraps a driver connection; DBCP prepares on it only to fill its statement pool.
+     */
+    private static Connection countingCreations(Connection connection) {
+        return wrap(connection, () -> () -> CREATED_BY_THREAD.get()[0]++);
+    }
+
+    /**
+     * @param onPrepare called before every {@code prepareStatement}; the action it returns runs once the
+     *                  statement is prepared
+     */
+    private static Connection wrap(Connection connection, Supplier<Runnable> onPrepare) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Runnable prepared = method.getName().equals("prepareStatement") ? onPrepare.get() : null;
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (prepared != null) {
+                        prepared.run();
+                    }
+                    return result;
+                });
+    }
+}
@@ -15,7 +15,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class JDBCArchiveDAO implements ArchiveDAO {
@@ -110,6 +113,31 @@ public class JDBCArchiveDAO implements ArchiveDAO {
         return Optional.empty();
     }
 
+    @Override
+    public List<Archive> findAllByIds(Collection<Long> ids) {
+        Map<Long, Archive> found = new HashMap<>();
+        try (Connection connection = ds.getConnection()) {
+            for (List<Long> chunk : IdBatches.chunks(ids)) {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM archive" +
+                        " left join usr on archive.inspector_decision_id = usr.id" +
+                        " left join reports on archive.report_id = reports.id" +
+                        " where archive.id in " + IdBatches.placeholders(chunk.size()))) {
+                    IdBatches.bind(ps, 1, chunk);
+                    ResultSet rs = ps.executeQuery();
+                    while (rs.next()) {
+                        Archive archive = extractArchive(rs);
+                        archive.setInspectorDecision(JDBCUserDAO.extractUser(rs));
+                        archive.setReport(JDBCReportDAO.extractReport(rs));
+                        found.put(archive.getId(), archive);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return IdBatches.inOrder(ids, found);
+    }
+
     @Override
     public List<Archive> findAll() {
         List<Archive> result = new ArrayList<>();
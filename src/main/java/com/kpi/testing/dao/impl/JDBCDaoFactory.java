@@ -4,12 +4,23 @@ import com.kpi.testing.dao.ArchiveDAO;
 import com.kpi.testing.dao.DaoFactory;
 import com.kpi.testing.dao.ReportDAO;
 import com.kpi.testing.dao.UserDAO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.BoundedCache;
 
 import javax.sql.DataSource;
 import java.io.*;
 
 public class JDBCDaoFactory extends DaoFactory {
+    private static final String CACHE_ENABLED = "cache.enabled";
+    private static final String CACHE_USERS_SIZE = "cache.users.maxSize";
+    private static final String CACHE_USERS_TTL = "cache.users.ttlSeconds";
+    private static final String CACHE_REPORTS_SIZE = "cache.reports.maxSize";
+    private static final String CACHE_REPORTS_TTL = "cache.reports.ttlSeconds";
 
+    private volatile BoundedCache<Long, User> userCache;
+    private volatile BoundedCache<Long, Report> reportCache;
 
     @Override
     public UserDAO createUserDao() {
@@ -26,18 +37,73 @@ public class JDBCDaoFactory extends DaoFactory {
         return new JDBCArchiveDAO(getDataSource());
     }
 
+    /**
+     * @return user DAO backed by the shared by-id cache, or the plain DAO if {@value #CACHE_ENABLED} is off
+     */
+    @Override
+    public UserDAO createCachedUserDao() {
+        if (!AppProperties.getBoolean(CACHE_ENABLED, false)) {
+            return createUserDao();
+        }
+        return new CachingUserDAO(createUserDao(), getUserCache());
+    }
+
+    /**
+     * @return report DAO backed by the shared by-id cache, or the plain DAO if {@value #CACHE_ENABLED} is off
+     */
+    @Override
+    public ReportDAO createCachedReportDao() {
+        if (!AppProperties.getBoolean(CACHE_ENABLED, false)) {
+            return createReportDao();
+        }
+        return new CachingReportDAO(createReportDao(), getReportCache());
+    }
+
+    public BoundedCache<Long, User> getUserCache() {
+        if (userCache == null) {
+            synchronized (this) {
+                if (userCache == null) {
+                    userCache = new BoundedCache<>(AppProperties.getInt(CACHE_USERS_SIZE, 1000),
+                            AppProperties.getLong(CACHE_USERS_TTL, 300) * 1000);
+                }
+            }
+        }
+        return userCache;
+    }
+
+    public BoundedCache<Long, Report> getReportCache() {
+        if (reportCache == null) {
+            synchronized (this) {
+                if (reportCache == null) {
+                    reportCache = new BoundedCache<>(AppProperties.getInt(CACHE_REPORTS_SIZE, 5000),
+                            AppProperties.getLong(CACHE_REPORTS_TTL, 60) * 1000);
+                }
+            }
+        }
+        return reportCache;
+    }
+
     @Override
     public JDBCSqlExecutor createExecutor() {
         return new JDBCSqlExecutor(getDataSource());
     }
 
-    private DataSource getDataSource() {
+    /**
+     * Profiled when profiling is on, so statements run inside a transaction are profiled once, by the
+     * connection the transaction manager bound.
+     */
+    @Override
+    public DataSource getPooledDataSource() {
         try {
-            return DataSourceHolder.getDataSource();
+            return DataSourceHolder.getProfiledDataSource();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private DataSource getDataSource() {
+        return new TransactionalDataSource(getPooledDataSource());
+    }
 }
 
 
@@ -1,21 +1,32 @@
 package com.kpi.testing.dao.impl;
 
+import com.kpi.testing.dao.ReportCursor;
 import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.ReportSort;
+import com.kpi.testing.dao.TransactionManager;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.AppProperties;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
 
 import static com.kpi.testing.dao.impl.JDBCUserDAO.extractUser;
 
 public class JDBCReportDAO implements ReportDAO {
+    private static final String SEARCH_INDEX_ENABLED = "search.index.enabled";
+    private static final int BATCH_SIZE = 500;
+    /**
+     * Makes MySQL Connector/J stream rows one by one instead of reading the whole result into memory.
+     */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
     DataSource ds;
+    private final ReportNameIndex nameIndex = ReportNameIndex.getInstance();
+    private final boolean nameIndexEnabled = AppProperties.getBoolean(SEARCH_INDEX_ENABLED, false);
 
     public JDBCReportDAO(DataSource ds) {
         this.ds = ds;
@@ -28,6 +39,7 @@ public class JDBCReportDAO implements ReportDAO {
                     .created(rs.getDate("reports.created").toLocalDate())
                     .updated(rs.getDate("reports.updated").toLocalDate())
                     .status(ReportStatus.valueOf(rs.getString("reports.status")))
+                    .owner(User.builder().id(rs.getLong("reports.owner_id")).build())
                     .declineReason(rs.getString("decline_reason"))
                     .description(rs.getString("description"))
                     .name(rs.getString("name"))
@@ -37,10 +49,6 @@ public class JDBCReportDAO implements ReportDAO {
         }
     }
 
-    private boolean isUniqUser(Map<Long, User> users, User user) {
-        return !users.containsKey(user.getId());
-    }
-
     private Report makeUniqueReport(Map<Long, Report> reports, Report report) {
         reports.putIfAbsent(report.getId(), report);
         return reports.get(report.getId());
@@ -48,35 +56,21 @@ public class JDBCReportDAO implements ReportDAO {
 
     @Override
     public List<Report> findByOwnerWhereNameLike(User user, String name) {
-        List<Report> result;
-            try (   Connection connection = ds.getConnection();
-                    PreparedStatement ps = connection.prepareStatement(
-                    "select * from reports" +
-                            " left join report_inspectors" +
-                            " on reports.id = report_inspectors.report_id" +
-                            " left join usr on usr.id = usr_id" +
-                            " where owner_id = ? and name like ? order by reports.id Desc")) {
-
-                ps.setLong(1, user.getId());
-                ps.setString(2, "%" + name + "%");
-                ResultSet rs1 = ps.executeQuery();
-                Map<Long, User> inspectors = new HashMap<>();
-                Map<Long, Report> reports = new HashMap<>();
-                while (rs1.next()) {
-                    Report report = makeUniqueReport(reports, extractReport(rs1));
-
-                    User inspector = extractUser(rs1);
-                    if (isUniqUser(inspectors, inspector)
-                            && rs1.getLong("report_id") == rs1.getLong("reports.id")) {
-                        inspectors.putIfAbsent(report.getId(), inspector);
-                        report.getInspectors().add(inspector);
-                    }
-                }
-                result = new ArrayList<>(reports.values());
-
-            } catch (SQLException exception) {
-                throw new RuntimeException(exception);
+        List<Report> result = new ArrayList<>();
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select * from reports" +
+                        " where owner_id = ? and name like ? order by reports.id Desc")) {
+            ps.setLong(1, user.getId());
+            ps.setString(2, "%" + name + "%");
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(extractReport(rs));
             }
+            loadInspectors(connection, result);
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
         return result;
     }
 
@@ -106,24 +100,439 @@ public class JDBCReportDAO implements ReportDAO {
         return result;
     }
 
+    @Override
+    public List<Report> findByOwnerWhereNameLike(User user, String name, int page, int size, ReportSort sort) {
+        List<Report> result = new ArrayList<>();
+        NameFilter filter = ownerFilter(user, name);
+        if (filter.isEmpty()) {
+            return result;
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select * from reports" +
+                        " where owner_id = ?" + filter.sql() +
+                        " order by " + sort.getOrderBy() +
+                        " limit ? offset ?")) {
+            int index = 1;
+            ps.setLong(index++, user.getId());
+            index = filter.bind(ps, index);
+            ps.setInt(index++, size);
+            ps.setInt(index, Math.max(page, 0) * size);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(extractReport(rs));
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        return result;
+    }
+
+    @Override
+    public long countByOwnerWhereNameLike(User user, String name) {
+        NameFilter filter = ownerFilter(user, name);
+        if (filter.ids != null) {
+            return filter.ids.size();
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select count(*) from reports where owner_id = ?" + filter.sql())) {
+            ps.setLong(1, user.getId());
+            filter.bind(ps, 2);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name,
+                                                                 int page, int size, ReportSort sort) {
+        List<Report> result = new ArrayList<>();
+        NameFilter filter = inspectorFilter(inspector, name);
+        if (filter.isEmpty()) {
+            return result;
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select reports.* from report_inspectors" +
+                " join reports" +
+                " on report_inspectors.report_id = reports.id" +
+                " where usr_id = ? and reports.status = ?" + filter.sql() +
+                " order by " + sort.getOrderBy() +
+                " limit ? offset ?")) {
+            int index = 1;
+            ps.setLong(index++, inspector.getId());
+            ps.setString(index++, status.name());
+            index = filter.bind(ps, index);
+            ps.setInt(index++, size);
+            ps.setInt(index, Math.max(page, 0) * size);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(extractReport(rs));
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        return result;
+    }
+
+    @Override
+    public long countByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name) {
+        NameFilter filter = inspectorFilter(inspector, name);
+        if (filter.isEmpty()) {
+            return 0;
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select count(*) from report_inspectors" +
+                " join reports" +
+                " on report_inspectors.report_id = reports.id" +
+                " where usr_id = ? and reports.status = ?" + filter.sql())) {
+            ps.setLong(1, inspector.getId());
+            ps.setString(2, status.name());
+            filter.bind(ps, 3);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public List<Report> findByOwnerWhereNameLike(User user, String name, ReportCursor cursor, int limit) {
+        String seek = "";
+        String order = " order by reports.updated desc, reports.id desc";
+        if (cursor != null && cursor.isBackward()) {
+            seek = " and (reports.updated > ? or (reports.updated = ? and reports.id > ?))";
+            order = " order by reports.updated asc, reports.id asc";
+        } else if (cursor != null) {
+            seek = " and (reports.updated < ? or (reports.updated = ? and reports.id < ?))";
+        }
+        List<Report> result = new ArrayList<>();
+        NameFilter filter = ownerFilter(user, name);
+        if (filter.isEmpty()) {
+            return result;
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select * from reports" +
+                        " where owner_id = ?" + filter.sql() + seek + order +
+                        " limit ?")) {
+            int index = 1;
+            ps.setLong(index++, user.getId());
+            index = filter.bind(ps, index);
+            if (cursor != null) {
+                ps.setString(index++, cursor.getUpdated().toString());
+                ps.setString(index++, cursor.getUpdated().toString());
+                ps.setLong(index++, cursor.getId());
+            }
+            ps.setInt(index, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(extractReport(rs));
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        if (cursor != null && cursor.isBackward()) {
+            Collections.reverse(result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Report> findAllByInspectorsAndStatusWhereNameLike(User inspector, ReportStatus status, String name,
+                                                                 ReportCursor cursor, int limit) {
+        String seek = "";
+        String order = " order by reports.id asc";
+        if (cursor != null && cursor.isBackward()) {
+            seek = " and reports.id < ?";
+            order = " order by reports.id desc";
+        } else if (cursor != null) {
+            seek = " and reports.id > ?";
+        }
+        List<Report> result = new ArrayList<>();
+        NameFilter filter = inspectorFilter(inspector, name);
+        if (filter.isEmpty()) {
+            return result;
+        }
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select reports.* from report_inspectors" +
+                " join reports" +
+                " on report_inspectors.report_id = reports.id" +
+                " where usr_id = ? and reports.status = ?" + filter.sql() + seek + order +
+                " limit ?")) {
+            int index = 1;
+            ps.setLong(index++, inspector.getId());
+            ps.setString(index++, status.name());
+            index = filter.bind(ps, index);
+            if (cursor != null) {
+                ps.setLong(index++, cursor.getId());
+            }
+            ps.setInt(index, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(extractReport(rs));
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        if (cursor != null && cursor.isBackward()) {
+            Collections.reverse(result);
+        }
+        return result;
+    }
+
+    @Override
+    public void streamByOwner(User owner, Consumer<Report> consumer) {
+        stream("select * from reports where owner_id = ? order by reports.id", owner.getId(), consumer);
+    }
+
+    @Override
+    public void streamByInspector(User inspector, Consumer<Report> consumer) {
+        stream("select reports.* from report_inspectors" +
+                " join reports on report_inspectors.report_id = reports.id" +
+                " where usr_id = ? order by reports.id", inspector.getId(), consumer);
+    }
+
+    @Override
+    public Map<Long, Integer> countByInspectorAndStatus(ReportStatus status) {
+        Map<Long, Integer> counts = new HashMap<>();
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(
+                "select report_inspectors.usr_id, count(*) from report_inspectors" +
+                        " join reports on report_inspectors.report_id = reports.id" +
+                        " where reports.status = ? group by report_inspectors.usr_id")) {
+            ps.setString(1, status.name());
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                counts.put(rs.getLong(1), rs.getInt(2));
+            }
+            return counts;
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public Map<Long, Map<ReportStatus, Long>> countByOwnerGroupByStatus() {
+        return countGroupedByStatus("select owner_id, status, count(*) from reports group by owner_id, status");
+    }
+
+    @Override
+    public Map<Long, Map<ReportStatus, Long>> countByInspectorGroupByStatus() {
+        return countGroupedByStatus("select report_inspectors.usr_id, reports.status, count(*) from report_inspectors" +
+                " join reports on report_inspectors.report_id = reports.id" +
+                " group by report_inspectors.usr_id, reports.status");
+    }
+
+    private Map<Long, Map<ReportStatus, Long>> countGroupedByStatus(String sql) {
+        Map<Long, Map<ReportStatus, Long>> counts = new HashMap<>();
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(sql)) {
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                counts.computeIfAbsent(rs.getLong(1), id -> new EnumMap<>(ReportStatus.class))
+                        .put(ReportStatus.valueOf(rs.getString(2)), rs.getLong(3));
+            }
+            return counts;
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Reads a forward-only, read-only result with a streaming fetch size, so memory stays flat however
+     * many rows there are. The connection is busy until the last row is read, so the consumer must not
+     * query through this DAO.
+     */
+    private void stream(String sql, Long id, Consumer<Report> consumer) {
+        try (   Connection connection = ds.getConnection();
+                PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(extractReport(rs));
+                }
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public void rebuildNameIndex() {
+        if (!nameIndexEnabled) {
+            return;
+        }
+        Map<Long, Long> owners = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, List<Long>> inspectors = new HashMap<>();
+        try (   Connection connection = ds.getConnection();
+                Statement st = connection.createStatement()) {
+            ResultSet rs = st.executeQuery(
+                    "select reports.id, reports.name, reports.owner_id, report_inspectors.usr_id from reports" +
+                    " left join report_inspectors on reports.id = report_inspectors.report_id");
+            while (rs.next()) {
+                long id = rs.getLong(1);
+                names.putIfAbsent(id, rs.getString(2));
+                long ownerId = rs.getLong(3);
+                if (!rs.wasNull()) {
+                    owners.putIfAbsent(id, ownerId);
+                }
+                List<Long> reportInspectors = inspectors.computeIfAbsent(id, key -> new ArrayList<>());
+                long inspectorId = rs.getLong(4);
+                if (!rs.wasNull()) {
+                    reportInspectors.add(inspectorId);
+                }
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        List<ReportNameIndex.Entry> entries = new ArrayList<>();
+        names.forEach((id, name) -> entries.add(new ReportNameIndex.Entry(id, name, owners.get(id), inspectors.get(id))));
+        nameIndex.rebuild(entries);
+    }
+
+    private NameFilter ownerFilter(User owner, String name) {
+        if (!nameIndexEnabled || ReportNameIndex.isMatchAll(name)) {
+            return new NameFilter(name, null);
+        }
+        return new NameFilter(name, bounded(nameIndex.searchByOwner(owner.getId(), name)));
+    }
+
+    private NameFilter inspectorFilter(User inspector, String name) {
+        if (!nameIndexEnabled || ReportNameIndex.isMatchAll(name)) {
+            return new NameFilter(name, null);
+        }
+        return new NameFilter(name, bounded(nameIndex.searchByInspector(inspector.getId(), name)));
+    }
+
+    /**
+     * Index hits become an {@code in} list. Past {@link IdBatches#CHUNK} ids that statement costs more
+     * than the LIKE it replaces, so a common term is left to the database.
+     */
+    private static Set<Long> bounded(Optional<Set<Long>> hits) {
+        return hits.filter(ids -> ids.size() <= IdBatches.CHUNK).orElse(null);
+    }
+
+    private void indexReport(Long id, Report entity) {
+        if (nameIndexEnabled && nameIndex.isReady()) {
+            List<Long> inspectorIds = new ArrayList<>();
+            entity.getInspectors().forEach(inspector -> inspectorIds.add(inspector.getId()));
+            Long ownerId = (entity.getOwner() == null) ? null : entity.getOwner().getId();
+            String name = entity.getName();
+            TransactionManager.afterCommit(() -> nameIndex.put(id, name, ownerId, inspectorIds));
+        }
+    }
+
+    /**
+     * Restricts a listing to reports whose name is like {@code %name%}, either with the ids found by
+     * the name index, with a length check for wildcard-only terms, or with a plain LIKE.
+     */
+    private static class NameFilter {
+        private final String name;
+        private final Set<Long> ids;
+
+        private NameFilter(String name, Set<Long> ids) {
+            this.name = name;
+            this.ids = ids;
+        }
+
+        boolean isEmpty() {
+            return ids != null && ids.isEmpty();
+        }
+
+        String sql() {
+            if (ids != null) {
+                return " and reports.id in (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+            }
+            if (ReportNameIndex.isMatchAll(name)) {
+                return (name == null || ReportNameIndex.minLength(name) == 0) ? "" : " and char_length(reports.name) >= ?";
+            }
+            return " and reports.name like ?";
+        }
+
+        int bind(PreparedStatement ps, int index) throws SQLException {
+            if (ids != null) {
+                for (Long id : ids) {
+                    ps.setLong(index++, id);
+                }
+            } else if (ReportNameIndex.isMatchAll(name)) {
+                if (name != null && ReportNameIndex.minLength(name) > 0) {
+                    ps.setInt(index++, ReportNameIndex.minLength(name));
+                }
+            } else {
+                ps.setString(index++, "%" + name + "%");
+            }
+            return index;
+        }
+    }
+
     @Override
     public void create(Report entity) {
-        int parameters = entity.getInspectors().size();
-        int id;
-        try(Connection connection = ds.getConnection()) {
-            try (PreparedStatement ps = connection.prepareStatement
-                    ("insert into reports (`status`, `updated`, `name`, `description`, `decline_reason`, `owner_id`, `created`) " +
-                            "VALUES(?, ?, ?, ?, ?, ?, ?)")) {
-                connection.prepareStatement("SET @@SESSION.information_schema_stats_expiry = 0;").executeQuery();
-                connection.setAutoCommit(false);
-                ps.setString(1, entity.getStatus().name());
-                ps.setString(2, LocalDate.now().toString());
-                ps.setString(3, entity.getName());
-                ps.setString(4, entity.getDescription());
-                ps.setString(5, entity.getDeclineReason());
-                ps.setLong(6, entity.getOwner().getId());
-                ps.setString(7, LocalDate.now().toString());
-                ps.executeUpdate();
+        createAll(Collections.singletonList(entity));
+    }
+
+    /**
+     * Inserts the reports and their inspector links in one transaction, sending the rows in
+     * JDBC batches of {@link #BATCH_SIZE}. Generated ids are written back to the entities.
+     */
+    @Override
+    public void createAll(List<Report> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try (Connection connection = ds.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement reports = connection.prepareStatement(
+                    "insert into reports (`status`, `updated`, `name`, `description`, `decline_reason`, `owner_id`, `created`) " +
+                            "VALUES(?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement links = connection.prepareStatement(
+                         "insert into report_inspectors (usr_id, report_id) values (?, ?)")) {
+                String today = LocalDate.now().toString();
+                for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+                    List<Report> chunk = entities.subList(from, Math.min(from + BATCH_SIZE, entities.size()));
+                    for (Report entity : chunk) {
+                        reports.setString(1, entity.getStatus().name());
+                        reports.setString(2, today);
+                        reports.setString(3, entity.getName());
+                        reports.setString(4, entity.getDescription());
+                        reports.setString(5, entity.getDeclineReason());
+                        reports.setLong(6, entity.getOwner().getId());
+                        reports.setString(7, today);
+                        reports.addBatch();
+                    }
+                    reports.executeBatch();
+                    try (ResultSet keys = reports.getGeneratedKeys()) {
+                        for (Report entity : chunk) {
+                            if (!keys.next()) {
+                                throw new SQLException("No generated key returned for report " + entity.getName());
+                            }
+                            entity.setId(keys.getLong(1));
+                        }
+                    }
+                    int pending = 0;
+                    for (Report entity : chunk) {
+                        for (User inspector : entity.getInspectors()) {
+                            links.setLong(1, inspector.getId());
+                            links.setLong(2, entity.getId());
+                            links.addBatch();
+                            if (++pending == BATCH_SIZE) {
+                                links.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                    }
+                    if (pending > 0) {
+                        links.executeBatch();
+                    }
+                }
+                connection.commit();
             } catch (SQLException exception) {
                 try {
                     connection.rollback();
@@ -132,75 +541,25 @@ public class JDBCReportDAO implements ReportDAO {
                 }
                 throw new RuntimeException(exception);
             }
-            if (parameters > 0) {
-                StringBuffer query = new StringBuffer("insert into report_inspectors (usr_id, report_id) values ");
-                if (parameters > 1) {
-                    IntStream.range(0, parameters - 1).forEachOrdered(ignored -> query.append("(?, ?), "));
-                }
-                query.append("(?, ?);");
-                try {
-                    PreparedStatement ps = connection.prepareStatement("SELECT `AUTO_INCREMENT` " +
-                            "FROM  INFORMATION_SCHEMA.TABLES " +
-                            "WHERE TABLE_SCHEMA = 'testing' " +
-                            "AND   TABLE_NAME   = 'reports';");
-                    ResultSet rs = ps.executeQuery();
-                    rs.next();
-                    id = rs.getInt("AUTO_INCREMENT") - 1;
-                } catch (SQLException exception) {
-                    throw new RuntimeException(exception);
-                }
-                try {
-                    PreparedStatement ps = connection.prepareStatement(query.toString());
-                    AtomicInteger counter = new AtomicInteger(1);
-                    IntStream.range(0, parameters).forEachOrdered(i -> {
-                        try {
-                            ps.setLong(counter.getAndIncrement(), entity.getInspectors().get(i).getId());
-                            ps.setLong(counter.getAndIncrement(), id);
-                        } catch (SQLException exception) {
-                            exception.printStackTrace();
-                        }
-                    });
-                    ps.executeUpdate();
-                    ps.close();
-                    connection.commit();
-                } catch (SQLException exception) {
-                    try {
-                        connection.rollback();
-                    } catch (SQLException e) {
-                        throw new RuntimeException(e);
-                    }
-
-                    throw new RuntimeException(exception);
-                }
-            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-
+        entities.forEach(entity -> {
+            entity.setStoredInspectorIds(inspectorIds(entity));
+            indexReport(entity.getId(), entity);
+        });
     }
 
     @Override
     public Optional<Report> findById(Long id) {
         Optional<Report> report;
         try (   Connection connection = ds.getConnection();
-                PreparedStatement ps = connection.prepareStatement(
-                "select * from reports" +
-                " left join report_inspectors" +
-                " on reports.id = report_inspectors.report_id" +
-                " left join usr on usr.id = usr_id" +
-                " where reports.id = ?")) {
+                PreparedStatement ps = connection.prepareStatement("select * from reports where reports.id = ?")) {
             ps.setLong(1, id);
-            ResultSet rs1 = ps.executeQuery();
-            report = (rs1.next()) ? Optional.of(extractReport(rs1)) : Optional.empty();
-            rs1.previous();
-            Map<Long, User> inspectors = new HashMap<>();
-            while (rs1.next()) {
-                User inspector = extractUser(rs1);
-                if (isUniqUser(inspectors, inspector)
-                        && rs1.getLong("report_id") == rs1.getLong("reports.id")) {
-                    inspectors.putIfAbsent(report.orElse(new Report()).getId(), inspector);
-                    report.orElse(new Report()).getInspectors().add(inspector);
-                }
+            ResultSet rs = ps.executeQuery();
+            report = (rs.next()) ? Optional.of(extractReport(rs)) : Optional.empty();
+            if (report.isPresent()) {
+                loadInspectors(connection, Collections.singletonList(report.get()));
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -210,27 +569,14 @@ public class JDBCReportDAO implements ReportDAO {
 
     @Override
     public List<Report> findAll() {
-        List<Report> result;
+        List<Report> result = new ArrayList<>();
         try (   Connection connection = ds.getConnection();
                 Statement ps = connection.createStatement()) {
-            ResultSet rs1 = ps.executeQuery(
-                    "select * from reports" +
-                            " left join report_inspectors" +
-                            " on reports.id = report_inspectors.report_id" +
-                            " left join usr on usr.id = usr_id"
-            );
-            Map<Long, User> inspectors = new HashMap<>();
-            Map<Long, Report> reports = new HashMap<>();
-            while (rs1.next()) {
-                Report report = makeUniqueReport(reports, extractReport(rs1));
-                User inspector = extractUser(rs1);
-                if (isUniqUser(inspectors, inspector)
-                        && rs1.getLong("report_id") == rs1.getLong("reports.id")) {
-                    inspectors.putIfAbsent(report.getId(), inspector);
-                    report.getInspectors().add(inspector);
-                }
+            ResultSet rs = ps.executeQuery("select * from reports");
+            while (rs.next()) {
+                result.add(extractReport(rs));
             }
-            result = new ArrayList<>(reports.values());
+            loadInspectors(connection, result);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -238,60 +584,114 @@ public class JDBCReportDAO implements ReportDAO {
     }
 
     @Override
-    public void update(Report entity) {
-        int parameters = entity.getInspectors().size();
-        try(Connection connection = ds.getConnection()) {
-            try {
-                connection.setAutoCommit(false);
-                PreparedStatement ps = connection.prepareStatement("delete from report_inspectors where report_id = ?");
-                ps.setLong(1, entity.getId());
-                ps.executeUpdate();
-                ps.close();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
-            if (parameters > 0) {
-                StringBuffer query = new StringBuffer("insert into report_inspectors (usr_id, report_id) values ");
-                if (parameters > 1) {
-                    IntStream.range(0, parameters - 1).forEachOrdered(ignored -> query.append("(?, ?), "));
+    public List<Report> findAllByIds(Collection<Long> ids) {
+        Map<Long, Report> found = new HashMap<>();
+        try (Connection connection = ds.getConnection()) {
+            for (List<Long> chunk : IdBatches.chunks(ids)) {
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "select * from reports where reports.id in " + IdBatches.placeholders(chunk.size()))) {
+                    IdBatches.bind(ps, 1, chunk);
+                    ResultSet rs = ps.executeQuery();
+                    while (rs.next()) {
+                        Report report = extractReport(rs);
+                        found.put(report.getId(), report);
+                    }
                 }
-                query.append("(?, ?);");
-                try {
-                    PreparedStatement ps = connection.prepareStatement(query.toString());
-                    AtomicInteger counter = new AtomicInteger(1);
-                    IntStream.range(0, parameters).forEachOrdered(i -> {
-                        try {
-                            ps.setLong(counter.getAndIncrement(), entity.getInspectors().get(i).getId());
-                            ps.setLong(counter.getAndIncrement(), entity.getId());
-                        } catch (SQLException exception) {
-                            throw new RuntimeException(exception);
-                        }
-                    });
-                    ps.executeUpdate();
-                    ps.close();
-                } catch (SQLException exception) {
-                    try {
-                        connection.rollback();
-                    } catch (SQLException ignored) {
-
-                        throw new RuntimeException();
+            }
+            loadInspectors(connection, new ArrayList<>(found.values()));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return IdBatches.inOrder(ids, found);
+    }
+
+    /**
+     * Second phase of the report reads: fills in the inspectors of the already loaded reports with one
+     * {@code in (...)} query per {@link IdBatches#CHUNK} reports, instead of joining them into the report rows
+     * and repeating every report once per inspector. Marks the loaded inspectors as stored.
+     */
+    private void loadInspectors(Connection connection, List<Report> reports) throws SQLException {
+        Map<Long, Report> byId = new HashMap<>();
+        reports.forEach(report -> byId.put(report.getId(), report));
+        for (List<Long> chunk : IdBatches.chunks(byId.keySet())) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "select report_inspectors.report_id, usr.* from report_inspectors" +
+                    " join usr on usr.id = report_inspectors.usr_id" +
+                    " where report_inspectors.report_id in " + IdBatches.placeholders(chunk.size()) +
+                    " order by report_inspectors.report_id, usr.id")) {
+                IdBatches.bind(ps, 1, chunk);
+                ResultSet rs = ps.executeQuery();
+                long previousReport = -1;
+                long previousUser = -1;
+                while (rs.next()) {
+                    long reportId = rs.getLong(1);
+                    User inspector = extractUser(rs);
+                    if (reportId != previousReport || inspector.getId() != previousUser) {
+                        byId.get(reportId).getInspectors().add(inspector);
                     }
-                    throw new RuntimeException();
+                    previousReport = reportId;
+                    previousUser = inspector.getId();
                 }
             }
-            try (PreparedStatement ps = connection.prepareStatement
-                    ("Update reports set status = ?, updated = ?, name = ?, description = ?, decline_reason = ? " +
-                            "where id = ?")) {
-                ps.setString(1, entity.getStatus().name());
-                ps.setString(2, LocalDate.now().toString());
-                ps.setString(3, entity.getName());
-                ps.setString(4, entity.getDescription());
-                ps.setString(5, entity.getDeclineReason());
-                //todo owner is always null when getting from db!!!!!!!!!!
-                //ps.setLong(6, entity.getOwner().getId());
-                ps.setLong(6, entity.getId());
-                ps.executeUpdate();
-                ps.close();
+        }
+        reports.forEach(JDBCReportDAO::markInspectorsStored);
+    }
+
+    /**
+     * Writes the report row and only the difference between the stored and the current inspectors.
+     * The stored set comes from the entity snapshot taken on load, or from the join table when the
+     * entity has none; when both sets match the join table is left untouched.
+     */
+    @Override
+    public void update(Report entity) {
+        write(entity, null);
+    }
+
+    /**
+     * Same as {@link #update(Report)}, but the row is written only while its status is still {@code expected};
+     * the inspectors are changed only if it was.
+     */
+    @Override
+    public boolean updateIfStatus(Report entity, ReportStatus expected) {
+        return write(entity, expected);
+    }
+
+    /**
+     * @param expected status the stored row must have, null to write it whatever its status
+     * @return false if the row was not in the expected status and nothing was written
+     */
+    private boolean write(Report entity, ReportStatus expected) {
+        Set<Long> inspectorIds = inspectorIds(entity);
+        try (Connection connection = ds.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = connection.prepareStatement
+                        ("Update reports set status = ?, updated = ?, name = ?, description = ?, decline_reason = ? " +
+                                "where id = ?" + ((expected == null) ? "" : " and status = ?"))) {
+                    ps.setString(1, entity.getStatus().name());
+                    ps.setString(2, LocalDate.now().toString());
+                    ps.setString(3, entity.getName());
+                    ps.setString(4, entity.getDescription());
+                    ps.setString(5, entity.getDeclineReason());
+                    ps.setLong(6, entity.getId());
+                    if (expected != null) {
+                        ps.setString(7, expected.name());
+                    }
+                    if (ps.executeUpdate() == 0 && expected != null) {
+                        return false;
+                    }
+                }
+                Set<Long> stored = (entity.getStoredInspectorIds() != null)
+                        ? entity.getStoredInspectorIds()
+                        : findInspectorIds(connection, entity.getId());
+                if (!stored.equals(inspectorIds)) {
+                    Set<Long> removed = new HashSet<>(stored);
+                    removed.removeAll(inspectorIds);
+                    Set<Long> added = new HashSet<>(inspectorIds);
+                    added.removeAll(stored);
+                    deleteInspectors(connection, entity.getId(), removed);
+                    insertInspectors(connection, entity.getId(), added);
+                }
                 connection.commit();
             } catch (SQLException throwable) {
                 try {
@@ -304,6 +704,68 @@ public class JDBCReportDAO implements ReportDAO {
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
+        entity.setStoredInspectorIds(inspectorIds);
+        indexReport(entity.getId(), entity);
+        return true;
+    }
+
+    private static void markInspectorsStored(Report report) {
+        report.setStoredInspectorIds(inspectorIds(report));
+    }
+
+    private static Set<Long> inspectorIds(Report report) {
+        Set<Long> ids = new HashSet<>();
+        report.getInspectors().forEach(inspector -> ids.add(inspector.getId()));
+        return ids;
+    }
+
+    private static Set<Long> findInspectorIds(Connection connection, Long reportId) throws SQLException {
+        Set<Long> ids = new HashSet<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "select usr_id from report_inspectors where report_id = ? for update")) {
+            ps.setLong(1, reportId);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static void deleteInspectors(Connection connection, Long reportId, Set<Long> inspectorIds) throws SQLException {
+        if (inspectorIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "delete from report_inspectors where report_id = ? and usr_id = ?")) {
+            for (Long inspectorId : inspectorIds) {
+                ps.setLong(1, reportId);
+                ps.setLong(2, inspectorId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * The join table has no unique key, so rows are inserted only if missing in case the snapshot was stale.
+     */
+    private static void insertInspectors(Connection connection, Long reportId, Set<Long> inspectorIds) throws SQLException {
+        if (inspectorIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into report_inspectors (usr_id, report_id) select ?, ? from dual" +
+                " where not exists (select 1 from report_inspectors where usr_id = ? and report_id = ?)")) {
+            for (Long inspectorId : inspectorIds) {
+                ps.setLong(1, inspectorId);
+                ps.setLong(2, reportId);
+                ps.setLong(3, inspectorId);
+                ps.setLong(4, reportId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
     }
 
     @Override
@@ -336,6 +798,9 @@ public class JDBCReportDAO implements ReportDAO {
                 ps.setLong(1, id);
                 ps.executeUpdate();
                 connection.commit();
+                if (nameIndexEnabled) {
+                    TransactionManager.afterCommit(() -> nameIndex.remove(id));
+                }
             } catch (SQLException exception) {
                 try {
                     connection.rollback();
@@ -210,6 +210,35 @@ public class JDBCUserDAO implements UserDAO {
         return user;
     }
 
+    @Override
+    public Optional<User> findAccountById(Long id) {
+        return findAllByIds(Collections.singletonList(id)).stream().findFirst();
+    }
+
+    /**
+     * Loads the plain user rows; unlike {@link #findById(Long)} the users come without their report lists.
+     */
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        Map<Long, User> found = new HashMap<>();
+        try (Connection connection = ds.getConnection()) {
+            for (List<Long> chunk : IdBatches.chunks(ids)) {
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "select * from usr where usr.id in " + IdBatches.placeholders(chunk.size()))) {
+                    IdBatches.bind(ps, 1, chunk);
+                    ResultSet rs = ps.executeQuery();
+                    while (rs.next()) {
+                        User user = extractUser(rs);
+                        found.put(user.getId(), user);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return IdBatches.inOrder(ids, found);
+    }
+
     private Optional<User> getNewUser(ResultSet rs) throws SQLException {
         Optional<User> user = (rs.next()) ? Optional.of(extractUser(rs)) : Optional.empty();
         rs.previous();
@@ -258,15 +287,15 @@ public class JDBCUserDAO implements UserDAO {
     public void update(User entity) {
         try (   Connection connection = ds.getConnection();
                 PreparedStatement ps = connection.prepareStatement
-                ("Update usr set status = ?, username = ?, email = ?, password = ?, role = ?, updated = ?" +
+                ("Update usr set status = ?, username = ?, email = ?, password = ?, role = ?, updated = ? " +
                         "where id = ?")) {
             ps.setString(1, entity.getStatus().name());
             ps.setString(2, entity.getUsername());
             ps.setString(3, entity.getEmail());
             ps.setString(4, entity.getPassword());
             ps.setString(5, entity.getRole().name());
-            ps.setString(7, LocalDate.now().toString());
-            ps.setLong(8, entity.getId());
+            ps.setString(6, LocalDate.now().toString());
+            ps.setLong(7, entity.getId());
             ps.executeUpdate();
 
         } catch (SQLException e) {
@@ -0,0 +1,130 @@
+package com.kpi.testing.dao.impl;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.logging.Logger;
+
+/**
+ * Data source whose connections time every statement execution and count the rows read from its result sets,
+ * reporting both to {@link SqlProfiler}.
+ */
+public class ProfilingDataSource implements DataSource {
+    private static final String BATCH = "batch";
+    private final DataSource delegate;
+    private final SqlProfiler profiler;
+
+    public ProfilingDataSource(DataSource delegate, SqlProfiler profiler) {
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(delegate.getConnection(username, password));
+    }
+
+    private Connection profiled(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return profiled((PreparedStatement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall":
+                            return profiled((CallableStatement) result, CallableStatement.class, (String) args[0]);
+                        case "createStatement":
+                            return profiled((Statement) result, Statement.class, null);
+                        default:
+                            return result;
+                    }
+                });
+    }
+
+    /**
+     * @param sql statement text of a prepared statement, null for a plain statement which passes it to execute
+     */
+    private <S extends Statement> S profiled(S statement, Class<S> type, String sql) {
+        SqlProfiler.Stats prepared = (sql == null) ? null : profiler.stats(sql);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (!name.startsWith("execute")) {
+                        Object result = invoke(statement, method, args);
+                        return (name.equals("getResultSet") && result != null && prepared != null)
+                                ? counted((ResultSet) result, prepared) : result;
+                    }
+                    String text = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : sql;
+                    if (text == null) {
+                        text = BATCH;
+                    }
+                    SqlProfiler.Stats stats = (text.equals(sql)) ? prepared : profiler.stats(text);
+                    long started = System.nanoTime();
+                    Object result = invoke(statement, method, args);
+                    profiler.executed(text, stats, System.nanoTime() - started);
+                    return (result instanceof ResultSet) ? counted((ResultSet) result, stats) : result;
+                }));
+    }
+
+    private static ResultSet counted(ResultSet resultSet, SqlProfiler.Stats stats) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        stats.addRow();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,244 @@
+package com.kpi.testing.dao.impl;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index over {@code reports.name}, scoped by owner and by assigned inspector.
+ * Answers {@code name like '%term%'} with the exact set of matching report ids, so the DAO can fetch
+ * only those rows instead of letting MySQL scan every report of the owner or inspector.
+ * Matching is case- and accent-insensitive like the default MySQL collation: names and terms are
+ * lower-cased and decomposed, and combining marks are dropped, so "cafe" finds "Caf&eacute;".
+ */
+public class ReportNameIndex {
+    private static final int GRAM = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> byOwner = new HashMap<>();
+    private final Map<Long, Set<Long>> byInspector = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private static class LazyHolder {
+        static final ReportNameIndex INSTANCE = new ReportNameIndex();
+    }
+
+    public static ReportNameIndex getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Row of the {@code reports} table as seen by the index.
+     */
+    public static class Entry {
+        private final Long id;
+        private final String name;
+        private final Long ownerId;
+        private final Set<Long> inspectorIds;
+
+        public Entry(Long id, String name, Long ownerId, Collection<Long> inspectorIds) {
+            this.id = id;
+            this.name = normalize(name);
+            this.ownerId = ownerId;
+            this.inspectorIds = new HashSet<>(inspectorIds);
+        }
+    }
+
+    /**
+     * @return true if the term is made of LIKE wildcards only, e.g. the default search string {@code _}
+     */
+    public static boolean isMatchAll(String term) {
+        if (term == null) {
+            return true;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c != '_' && c != '%') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int minLength(String term) {
+        int length = 0;
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) == '_') {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild(Collection<Entry> rows) {
+        lock.writeLock().lock();
+        try {
+            clearAll();
+            rows.forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearAll();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long id, String name, Long ownerId, Collection<Long> inspectorIds) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.get(id);
+            Long owner = (ownerId == null && old != null) ? old.ownerId : ownerId;
+            if (old != null) {
+                remove(old);
+            }
+            add(new Entry(id, name, owner, inspectorIds));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.get(id);
+            if (old != null) {
+                remove(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the owner's reports whose name contains the term, or empty if the index cannot answer
+     */
+    public Optional<Set<Long>> searchByOwner(Long ownerId, String term) {
+        return search(byOwner, ownerId, term);
+    }
+
+    /**
+     * @return ids of the reports assigned to the inspector whose name contains the term, or empty if the index cannot answer
+     */
+    public Optional<Set<Long>> searchByInspector(Long inspectorId, String term) {
+        return search(byInspector, inspectorId, term);
+    }
+
+    private Optional<Set<Long>> search(Map<Long, Set<Long>> scopes, Long scopeId, String term) {
+        if (!ready || term == null || term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || term.indexOf('\\') >= 0) {
+            return Optional.empty();
+        }
+        String needle = normalize(term);
+        lock.readLock().lock();
+        try {
+            Set<Long> scope = scopes.getOrDefault(scopeId, Collections.emptySet());
+            Set<Long> result = new HashSet<>();
+            if (needle.length() < GRAM) {
+                for (Long id : scope) {
+                    if (entries.get(id).name.contains(needle)) {
+                        result.add(id);
+                    }
+                }
+                return Optional.of(result);
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return Optional.of(result);
+                }
+                lists.add(posting);
+            }
+            lists.add(scope);
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> smallest = lists.get(0);
+            for (Long id : smallest) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+                if (inAll && entries.get(id).name.contains(needle)) {
+                    result.add(id);
+                }
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        for (String gram : grams(entry.name)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.id);
+        }
+        if (entry.ownerId != null) {
+            byOwner.computeIfAbsent(entry.ownerId, key -> new HashSet<>()).add(entry.id);
+        }
+        for (Long inspectorId : entry.inspectorIds) {
+            byInspector.computeIfAbsent(inspectorId, key -> new HashSet<>()).add(entry.id);
+        }
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.id);
+        for (String gram : grams(entry.name)) {
+            removeFrom(postings, gram, entry.id);
+        }
+        if (entry.ownerId != null) {
+            removeFrom(byOwner, entry.ownerId, entry.id);
+        }
+        for (Long inspectorId : entry.inspectorIds) {
+            removeFrom(byInspector, inspectorId, entry.id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> map, K key, Long id) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private void clearAll() {
+        postings.clear();
+        entries.clear();
+        byOwner.clear();
+        byInspector.clear();
+    }
+
+    private static Set<String> grams(String name) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            grams.add(name.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("");
+    }
+}
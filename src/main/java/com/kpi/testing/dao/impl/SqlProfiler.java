@@ -0,0 +1,130 @@
+package com.kpi.testing.dao.impl;
+
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.LatencyHistogram;
+import com.kpi.testing.util.MetricsRegistry;
+import com.kpi.testing.util.PrometheusExporter;
+import com.kpi.testing.util.RequestContext;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Execution time, call count and rows fetched per normalized SQL string, published to {@link MetricsRegistry}
+ * as {@code db_query_duration_seconds} and {@code db_query_rows_total} labelled by the SQL.
+ * Statements slower than {@value #SLOW_QUERY_MILLIS} are logged with the command that issued them.
+ */
+public class SqlProfiler {
+    private static final Logger logger = getLogger(SqlProfiler.class);
+    private static final String ENABLED = "db.profiling.enabled";
+    private static final String SLOW_QUERY_MILLIS = "db.profiling.slowQueryMillis";
+    private static final int MAX_STATEMENTS = 1000;
+    private static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final long slowQueryNanos;
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final Map<String, Stats> statistics = new ConcurrentHashMap<>();
+
+    private static class LazyHolder {
+        static final SqlProfiler INSTANCE = new SqlProfiler();
+    }
+
+    public static SqlProfiler getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private SqlProfiler() {
+        enabled = AppProperties.getBoolean(ENABLED, false);
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(AppProperties.getLong(SLOW_QUERY_MILLIS, 500));
+    }
+
+    /**
+     * Figures of one normalized statement.
+     */
+    public static class Stats {
+        private final LatencyHistogram duration;
+        private final LongAdder rows;
+
+        private Stats(String sql) {
+            String labels = "sql=\"" + PrometheusExporter.escape(sql) + "\"";
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            duration = metrics.histogram("db_query_duration_seconds", "Statement execution time by normalized SQL", labels);
+            rows = metrics.counter("db_query_rows_total", "Rows fetched by normalized SQL", labels);
+        }
+
+        public void addRow() {
+            rows.increment();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public LatencyHistogram getDuration() {
+            return duration;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Stats stats(String sql) {
+        String key = normalize(sql);
+        Stats stats = statistics.get(key);
+        if (stats == null) {
+            stats = statistics.computeIfAbsent(statistics.size() < MAX_STATEMENTS ? key : OTHER, Stats::new);
+        }
+        return stats;
+    }
+
+    public void executed(String sql, Stats stats, long nanos) {
+        stats.duration.record(nanos);
+        if (nanos >= slowQueryNanos) {
+            logger.warn("Slow query (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms) in "
+                    + RequestContext.getCommand() + ": " + normalize(sql));
+        }
+    }
+
+    public Map<String, Stats> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Literals become {@code ?}, IN lists of any length become {@code (?...)} and whitespace is collapsed,
+     * so one statement shape maps to one entry.
+     */
+    public String normalize(String sql) {
+        String result = normalized.get(sql);
+        if (result == null) {
+            result = doNormalize(sql);
+            if (normalized.size() < MAX_STATEMENTS * 4) {
+                normalized.put(sql, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@link #normalize(String)} without the cache.
+     */
+    public static String doNormalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("(?...)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,100 @@
+package com.kpi.testing.dao.impl;
+
+import com.kpi.testing.dao.TransactionManager;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * Data source handed to the DAOs. Inside {@link TransactionManager#inTransaction(java.util.function.Supplier)}
+ * it returns the thread-bound connection wrapped so that close, commit and auto-commit changes are left to
+ * the transaction manager; outside of a transaction it is a plain pass-through.
+ */
+public class TransactionalDataSource implements DataSource {
+    private final DataSource delegate;
+
+    public TransactionalDataSource(DataSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection current = TransactionManager.currentConnection();
+        return (current == null) ? delegate.getConnection() : bound(current);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection current = TransactionManager.currentConnection();
+        return (current == null) ? delegate.getConnection(username, password) : bound(current);
+    }
+
+    private static Connection bound(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            if (args == null) {
+                                TransactionManager.setRollbackOnly();
+                                return null;
+                            }
+                            break;
+                        case "isClosed":
+                            return false;
+                        case "getAutoCommit":
+                            return false;
+                        default:
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
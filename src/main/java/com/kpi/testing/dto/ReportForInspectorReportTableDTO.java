@@ -15,6 +15,7 @@ public class ReportForInspectorReportTableDTO {
     private LocalDate updated;
     @NotNull
     private String description;
+    private Long ownerId;
 
     public ReportForInspectorReportTableDTO(Long id, String name, LocalDate created, LocalDate updated, String description) {
         this.id = id;
@@ -67,6 +68,14 @@ public class ReportForInspectorReportTableDTO {
         this.description = description;
     }
 
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
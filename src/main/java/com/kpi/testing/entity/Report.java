@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public class Report extends BaseEntity{
     private String name;
@@ -15,6 +16,11 @@ public class Report extends BaseEntity{
     private List<User> inspectors = new ArrayList<>();
     private String declineReason;
     private List<Archive> archives = new ArrayList<>();
+    /**
+     * Inspector ids as last read from or written to the database, used by the DAO to update
+     * only the changed {@code report_inspectors} rows; null when unknown.
+     */
+    private Set<Long> storedInspectorIds;
 
     public Report(String name, String description, ReportStatus status, User owner, List<User> inspectors, String declineReason, List<Archive> archives) {
         this.name = name;
@@ -146,6 +152,14 @@ public class Report extends BaseEntity{
         this.archives = archives;
     }
 
+    public Set<Long> getStoredInspectorIds() {
+        return storedInspectorIds;
+    }
+
+    public void setStoredInspectorIds(Set<Long> storedInspectorIds) {
+        this.storedInspectorIds = storedInspectorIds;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,18 @@
+package com.kpi.testing.exceptions;
+
+public class InvalidReportException extends Exception{
+    private String message;
+
+    public InvalidReportException(String message) {
+        super(message);
+        this.message = message;
+    }
+
+    public InvalidReportException() {
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
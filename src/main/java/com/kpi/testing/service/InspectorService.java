@@ -3,35 +3,38 @@ package com.kpi.testing.service;
 import com.kpi.testing.dao.ArchiveDAO;
 import com.kpi.testing.dao.DaoFactory;
 import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.TransactionManager;
 import com.kpi.testing.dao.UserDAO;
 import com.kpi.testing.dto.DeclineReasonDTO;
 import com.kpi.testing.entity.Archive;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
-import com.kpi.testing.util.SinglModelMapper;
-import com.kpi.testing.util.annotation.Transactional;
-import org.modelmapper.ModelMapper;
+import com.kpi.testing.service.assignment.InspectorAssignment;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 public class InspectorService {
     UserDAO userDAO;
     ReportDAO reportDAO;
     ArchiveDAO archiveDAO;
-    ModelMapper modelMapper;
+    InspectorAssignment assignment = InspectorAssignment.getInstance();
+    ReportCounters counters = ReportCounters.getInstance();
 
     public InspectorService() {
         DaoFactory factory = DaoFactory.getInstance();
-        userDAO = factory.createUserDao();
-        reportDAO = factory.createReportDao();
+        userDAO = factory.createCachedUserDao();
+        reportDAO = factory.createCachedReportDao();
         archiveDAO = factory.createArchiveDao();
-        modelMapper = SinglModelMapper.getInstance().getMapper();
     }
 
-    @Transactional
-    public void declineReport(Report reportToDecline, DeclineReasonDTO reportReason, User inspector) {
+    /**
+     * @return false if the report had already left the queue, for instance declined or accepted by another
+     * of its inspectors; nothing is changed then
+     */
+    public boolean declineReport(Report reportToDecline, DeclineReasonDTO reportReason, User inspector) {
         Archive archive = Archive.builder()
                 .report(reportToDecline)
                 .inspectorDecision(inspector)
@@ -40,16 +43,21 @@ public class InspectorService {
                 .declineReason(reportReason.getDeclineReason())
                 .status(ReportStatus.NOT_ACCEPTED)
                 .build();
-        archiveDAO.create(archive);
         reportToDecline.setDeclineReason(reportReason.getDeclineReason());
         reportToDecline.setStatus(ReportStatus.NOT_ACCEPTED);
-        reportDAO.update(reportToDecline);
-
+        boolean moved = TransactionManager.inTransaction(() -> leaveQueue(reportToDecline, archive));
+        if (moved) {
+            assignment.dequeued(reportToDecline.getInspectors());
+            counters.moved(reportToDecline, ReportStatus.QUEUE, reportToDecline.getInspectors());
+        }
+        return moved;
     }
 
-    @Transactional
-    public void acceptReport(Report reportToDecline, User inspector) {
-        //todo dont work
+    /**
+     * @return false if the report had already left the queue, for instance declined or accepted by another
+     * of its inspectors; nothing is changed then
+     */
+    public boolean acceptReport(Report reportToDecline, User inspector) {
         Archive archive = Archive.builder()
                 .report(reportToDecline)
                 .inspectorDecision(inspector)
@@ -57,9 +65,22 @@ public class InspectorService {
                 .description(reportToDecline.getDescription())
                 .status(ReportStatus.ACCEPTED)
                 .build();
-        archiveDAO.create(archive);
+        List<User> inspectors = reportToDecline.getInspectors();
         reportToDecline.setStatus(ReportStatus.ACCEPTED);
         reportToDecline.setInspectors(new ArrayList<>());
-        reportDAO.update(reportToDecline);
+        boolean moved = TransactionManager.inTransaction(() -> leaveQueue(reportToDecline, archive));
+        if (moved) {
+            assignment.dequeued(inspectors);
+            counters.moved(reportToDecline, ReportStatus.QUEUE, inspectors);
+        }
+        return moved;
+    }
+
+    private boolean leaveQueue(Report report, Archive archive) {
+        if (!reportDAO.updateIfStatus(report, ReportStatus.QUEUE)) {
+            return false;
+        }
+        archiveDAO.create(archive);
+        return true;
     }
 }
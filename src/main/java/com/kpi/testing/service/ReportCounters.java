@@ -0,0 +1,176 @@
+package com.kpi.testing.service;
+
+import com.kpi.testing.dao.DaoFactory;
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.TransactionManager;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.AppProperties;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Number of reports per status for every owner and every assigned inspector, on when
+ * {@code reports.counters.enabled} is set. Both are counted with one {@code GROUP BY} at startup and
+ * then kept current by the services, which report every create and status change once it is committed.
+ * Writes that bypass the services make the counts drift, so they are counted again every
+ * {@code reports.counters.reseedMinutes} (off when 0) or on {@link #reseed()}.
+ */
+public class ReportCounters {
+    private static final Logger logger = getLogger(ReportCounters.class);
+    private static final String ENABLED = "reports.counters.enabled";
+    private static final String RESEED_MINUTES = "reports.counters.reseedMinutes";
+    private static final ReportStatus[] STATUSES = ReportStatus.values();
+
+    private final boolean enabled;
+    private final ReportDAO reportDAO;
+    private volatile Map<Long, AtomicLongArray> byOwner = new ConcurrentHashMap<>();
+    private volatile Map<Long, AtomicLongArray> byInspector = new ConcurrentHashMap<>();
+
+    private static class LazyHolder {
+        static final ReportCounters INSTANCE = new ReportCounters();
+    }
+
+    public static ReportCounters getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private ReportCounters() {
+        this(AppProperties.getBoolean(ENABLED, false) ? DaoFactory.getInstance().createCachedReportDao() : null);
+        long minutes = AppProperties.getLong(RESEED_MINUTES, 0);
+        if (enabled && minutes > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "report-counters-reseed");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    reseed();
+                } catch (RuntimeException e) {
+                    logger.error("Recounting reports failed", e);
+                }
+            }, minutes, minutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * @param reportDAO source of the counts, or null to keep the counters off
+     */
+    public ReportCounters(ReportDAO reportDAO) {
+        this.reportDAO = reportDAO;
+        enabled = reportDAO != null;
+        reseed();
+    }
+
+    /**
+     * Replaces the counts with fresh {@code GROUP BY} results. A change committed while the queries
+     * run may be missed until the next reseed.
+     */
+    public void reseed() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, AtomicLongArray> owners = seed(reportDAO.countByOwnerGroupByStatus());
+        Map<Long, AtomicLongArray> inspectors = seed(reportDAO.countByInspectorGroupByStatus());
+        byOwner = owners;
+        byInspector = inspectors;
+    }
+
+    private static Map<Long, AtomicLongArray> seed(Map<Long, Map<ReportStatus, Long>> counts) {
+        Map<Long, AtomicLongArray> counters = new ConcurrentHashMap<>();
+        counts.forEach((id, perStatus) -> perStatus.forEach((status, count) -> counter(counters, id).set(status.ordinal(), count)));
+        return counters;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return count per status name, in declaration order, with zeros for missing statuses
+     */
+    public Map<String, Long> getByOwner(Long ownerId) {
+        return snapshot(byOwner.get(ownerId));
+    }
+
+    /**
+     * @return count per status name, in declaration order, with zeros for missing statuses
+     */
+    public Map<String, Long> getByInspector(Long inspectorId) {
+        return snapshot(byInspector.get(inspectorId));
+    }
+
+    public long getOwnerTotal(Long ownerId) {
+        return getByOwner(ownerId).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getInspectorCount(Long inspectorId, ReportStatus status) {
+        AtomicLongArray counts = byInspector.get(inspectorId);
+        return (counts == null) ? 0 : counts.get(status.ordinal());
+    }
+
+    /**
+     * Counts a new report for its owner and inspectors.
+     */
+    public void created(Report report) {
+        if (!enabled) {
+            return;
+        }
+        Long ownerId = report.getOwner().getId();
+        List<User> inspectors = new ArrayList<>(report.getInspectors());
+        ReportStatus status = report.getStatus();
+        TransactionManager.afterCommit(() -> {
+            add(byOwner, ownerId, status, 1);
+            inspectors.forEach(inspector -> add(byInspector, inspector.getId(), status, 1));
+        });
+    }
+
+    /**
+     * Moves a report from {@code from} to its current status. It is uncounted for the inspectors it had
+     * and counted for the ones it has now, which may be the same.
+     */
+    public void moved(Report report, ReportStatus from, List<User> previousInspectors) {
+        if (!enabled) {
+            return;
+        }
+        Long ownerId = report.getOwner().getId();
+        List<User> before = new ArrayList<>(previousInspectors);
+        List<User> after = new ArrayList<>(report.getInspectors());
+        ReportStatus to = report.getStatus();
+        TransactionManager.afterCommit(() -> {
+            add(byOwner, ownerId, from, -1);
+            add(byOwner, ownerId, to, 1);
+            before.forEach(inspector -> add(byInspector, inspector.getId(), from, -1));
+            after.forEach(inspector -> add(byInspector, inspector.getId(), to, 1));
+        });
+    }
+
+    private static void add(Map<Long, AtomicLongArray> counters, Long id, ReportStatus status, long delta) {
+        counter(counters, id).addAndGet(status.ordinal(), delta);
+    }
+
+    private static AtomicLongArray counter(Map<Long, AtomicLongArray> counters, Long id) {
+        return counters.computeIfAbsent(id, key -> new AtomicLongArray(STATUSES.length));
+    }
+
+    private static Map<String, Long> snapshot(AtomicLongArray counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (ReportStatus status : STATUSES) {
+            result.put(status.name(), (counts == null) ? 0 : counts.get(status.ordinal()));
+        }
+        return result;
+    }
+}
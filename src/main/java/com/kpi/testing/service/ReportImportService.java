@@ -0,0 +1,113 @@
+package com.kpi.testing.service;
+
+import com.kpi.testing.dao.DaoFactory;
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.exceptions.InvalidReportException;
+import com.kpi.testing.service.assignment.InspectorAssignment;
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.imports.ReportRecordReader;
+import com.kpi.testing.util.mapper.Mapper;
+import com.kpi.testing.util.mapper.MapperRegistry;
+import com.kpi.testing.validators.NewReportValidator;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bulk import of uploaded report files. Records are validated as they are parsed and inserted through
+ * {@link ReportDAO#createAll(List)} in batches of {@code import.batchSize} reports, each batch in its own
+ * transaction, so only one batch is ever held in memory. A batch that fails is reported and skipped.
+ * Records are expected to be escaped already, as request parameters are.
+ */
+public class ReportImportService {
+    private static final Logger logger = getLogger(ReportImportService.class);
+    private static final String BATCH_SIZE = "import.batchSize";
+
+    ReportDAO reportDAO;
+    InspectorAssignment assignment = InspectorAssignment.getInstance();
+    ReportCounters counters = ReportCounters.getInstance();
+    private final Mapper<AddReportDTO, Report> addMapper = MapperRegistry.getInstance().get(AddReportDTO.class, Report.class);
+    private final NewReportValidator validator = new NewReportValidator();
+    private final int batchSize = AppProperties.getInt(BATCH_SIZE, 500);
+
+    public ReportImportService() {
+        DaoFactory factory = DaoFactory.getInstance();
+        reportDAO = factory.createCachedReportDao();
+    }
+
+    /**
+     * Receives the outcome while the import runs.
+     */
+    public interface Progress {
+        void imported(int total);
+
+        void rejected(int record, String reason);
+
+        /**
+         * A batch of valid records could not be stored; the import goes on with the next one.
+         */
+        void failed(int records, String reason);
+    }
+
+    /**
+     * @return number of imported reports
+     * @throws IOException if the file is malformed; the valid records before the bad one stay imported
+     */
+    public int importReports(User owner, ReportRecordReader reader, Progress progress) throws IOException {
+        List<User> inspectors = assignment.findInspectors();
+        List<Report> batch = new ArrayList<>(batchSize);
+        int record = 0;
+        int imported = 0;
+        try {
+            for (AddReportDTO dto = reader.next(); dto != null; dto = reader.next()) {
+                record++;
+                try {
+                    validator.validate(dto);
+                } catch (InvalidReportException e) {
+                    progress.rejected(record, e.getMessage());
+                    continue;
+                }
+                Report report = addMapper.map(dto);
+                report.setStatus(ReportStatus.QUEUE);
+                report.setOwner(owner);
+                report.setInspectors(assignment.assign(inspectors));
+                batch.add(report);
+                if (batch.size() == batchSize) {
+                    imported += flush(batch, imported, progress);
+                }
+            }
+        } catch (IOException e) {
+            flush(batch, imported, progress);
+            throw e;
+        }
+        return imported + flush(batch, imported, progress);
+    }
+
+    private int flush(List<Report> batch, int imported, Progress progress) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        try {
+            reportDAO.createAll(batch);
+        } catch (RuntimeException e) {
+            logger.error("Storing {} imported reports failed", size, e);
+            batch.forEach(report -> assignment.dequeued(report.getInspectors()));
+            batch.clear();
+            progress.failed(size, e.getMessage());
+            return 0;
+        }
+        batch.forEach(counters::created);
+        batch.clear();
+        progress.imported(imported + size);
+        return size;
+    }
+}
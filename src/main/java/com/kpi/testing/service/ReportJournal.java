@@ -0,0 +1,220 @@
+package com.kpi.testing.service;
+
+import com.kpi.testing.dto.AddReportDTO;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Append-only file of accepted but not yet stored reports. Every submission is written as a
+ * checksummed {@code A} line and forced to disk before it is acknowledged, so a line torn by a crash
+ * is recognised and skipped. A stored batch is marked with a {@code C} line holding the last sequence
+ * number it contains. The file is truncated whenever everything in it is stored, so it only grows
+ * while the writer is behind.
+ * <p>
+ * Entries written by a batch that was stored just before a crash, but whose {@code C} line was not,
+ * are replayed again: delivery is at least once.
+ */
+public class ReportJournal implements AutoCloseable {
+    private static final Logger logger = getLogger(ReportJournal.class);
+    private static final String APPENDED = "A";
+    private static final String COMMITTED = "C";
+
+    public static class Entry {
+        private final long sequence;
+        private final long ownerId;
+        private final AddReportDTO report;
+
+        Entry(long sequence, long ownerId, AddReportDTO report) {
+            this.sequence = sequence;
+            this.ownerId = ownerId;
+            this.report = report;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getOwnerId() {
+            return ownerId;
+        }
+
+        public AddReportDTO getReport() {
+            return report;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Path rejected;
+    private final List<Entry> pending;
+    private long lastAppended;
+    private long lastCommitted;
+
+    /**
+     * Opens the journal, creating it if needed, and reads the entries left unstored by the previous run.
+     * Those are written to a fresh file that replaces the old one, so new entries never follow a line
+     * torn by the crash.
+     */
+    public ReportJournal(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        rejected = file.resolveSibling(file.getFileName() + ".rejected");
+        pending = Files.exists(file) ? read(file) : new ArrayList<>();
+        if (!pending.isEmpty()) {
+            rewrite(file, pending);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (pending.isEmpty()) {
+            channel.truncate(0);
+            lastAppended = lastCommitted;
+        } else {
+            lastAppended = pending.get(pending.size() - 1).getSequence();
+        }
+    }
+
+    /**
+     * @return entries of the previous run that were never marked as stored, in submission order
+     */
+    public List<Entry> getPending() {
+        return pending;
+    }
+
+    /**
+     * Writes the entry without forcing it; call {@link #sync()} before acknowledging it.
+     *
+     * @return sequence number of the entry
+     */
+    public synchronized long append(AddReportDTO report, long ownerId) throws IOException {
+        long sequence = lastAppended + 1;
+        write(line(new Entry(sequence, ownerId, report)));
+        lastAppended = sequence;
+        return sequence;
+    }
+
+    /**
+     * Forces appended entries to disk. Concurrent callers share the same flush.
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Marks every entry up to {@code sequence} as stored.
+     */
+    public synchronized void commit(long sequence) throws IOException {
+        lastCommitted = Math.max(lastCommitted, sequence);
+        if (lastCommitted == lastAppended) {
+            channel.truncate(0);
+        } else {
+            write(COMMITTED + ' ' + lastCommitted);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Keeps an entry the database refused in {@code <journal>.rejected}, in the journal's format.
+     * Call before {@link #commit(long)} covers it.
+     */
+    public synchronized void reject(Entry entry) throws IOException {
+        try (FileChannel out = FileChannel.open(rejected, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            write(out, line(entry));
+            out.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(String line) throws IOException {
+        write(channel, line);
+    }
+
+    private static void write(FileChannel channel, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String line(Entry entry) {
+        AddReportDTO report = entry.getReport();
+        String line = APPENDED + ' ' + entry.getSequence() + ' ' + entry.getOwnerId()
+                + ' ' + encode(report.getName()) + ' ' + encode(report.getDescription());
+        return line + ' ' + checksum(line);
+    }
+
+    private static void rewrite(Path file, List<Entry> entries) throws IOException {
+        Path fresh = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(fresh, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : entries) {
+                write(out, line(entry));
+            }
+            out.force(false);
+        }
+        Files.move(fresh, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split(" ", -1);
+                try {
+                    if (fields[0].equals(APPENDED) && fields.length == 6
+                            && fields[5].equals(checksum(line.substring(0, line.lastIndexOf(' '))))) {
+                        AddReportDTO report = new AddReportDTO();
+                        report.setName(decode(fields[3]));
+                        report.setDescription(decode(fields[4]));
+                        entries.add(new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), report));
+                    } else if (fields[0].equals(COMMITTED) && fields.length == 2) {
+                        lastCommitted = Math.max(lastCommitted, Long.parseLong(fields[1]));
+                    } else {
+                        logger.warn("Skipping torn journal line in {}", file);
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping torn journal line in {}", file);
+                }
+            }
+        }
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+            if (it.next().getSequence() <= lastCommitted) {
+                it.remove();
+            }
+        }
+        return entries;
+    }
+
+    private static String checksum(String entry) {
+        CRC32 crc = new CRC32();
+        crc.update(entry.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -3,44 +3,55 @@ package com.kpi.testing.service;
 import com.kpi.testing.dao.ArchiveDAO;
 import com.kpi.testing.dao.DaoFactory;
 import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.TransactionManager;
 import com.kpi.testing.dao.UserDAO;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
-import com.kpi.testing.util.SinglModelMapper;
-import org.modelmapper.ModelMapper;
+import com.kpi.testing.service.assignment.InspectorAssignment;
+import com.kpi.testing.util.annotation.Transactional;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ReportOwnerService {
     UserDAO userDAO;
     ReportDAO reportDAO;
     ArchiveDAO archiveDAO;
-    ModelMapper modelMapper;
+    InspectorAssignment assignment = InspectorAssignment.getInstance();
+    ReportCounters counters = ReportCounters.getInstance();
 
     public ReportOwnerService() {
         DaoFactory factory = DaoFactory.getInstance();
-        userDAO = factory.createUserDao();
-        reportDAO = factory.createReportDao();
+        userDAO = factory.createCachedUserDao();
+        reportDAO = factory.createCachedReportDao();
         archiveDAO = factory.createArchiveDao();
-        modelMapper = SinglModelMapper.getInstance().getMapper();
     }
 
-    public void changeInspector(Report report) {
-        List<User> inspectors = report.getInspectors();
-        if (inspectors.size() <= 1) {
+    /**
+     * @return false if the report was no longer in the status it was loaded with; nothing is changed then
+     */
+    @Transactional
+    public boolean changeInspector(Report report) {
+        return TransactionManager.inTransaction(() -> {
+            Long inspectorId = archiveDAO.findLastByReport(report).orElseThrow(RuntimeException::new).getInspectorDecision().getId();
+            List<User> newInspectors = assignment.reassign(report, inspectorId);
+            ReportStatus from = report.getStatus();
+            List<User> previousInspectors = report.getInspectors();
             report.setStatus(ReportStatus.QUEUE);
-            reportDAO.update(report);
-            return;
-        }
-        Long inspectorId = archiveDAO.findLastByReport(report).orElseThrow(RuntimeException::new).getInspectorDecision().getId();
-        List<User> newInspectors = inspectors.stream()
-                .filter(inspector -> !inspector.getId().equals(inspectorId))
-                .collect(Collectors.toList());
-        report.setStatus(ReportStatus.QUEUE);
-        report.setInspectors(newInspectors);
-        reportDAO.update(report);
+            report.setInspectors(newInspectors);
+            boolean moved;
+            try {
+                moved = reportDAO.updateIfStatus(report, from);
+            } catch (RuntimeException e) {
+                assignment.dequeued(newInspectors);
+                throw e;
+            }
+            if (!moved) {
+                assignment.dequeued(newInspectors);
+                return false;
+            }
+            counters.moved(report, from, previousInspectors);
+            return true;
+        });
     }
 }
@@ -2,79 +2,235 @@ package com.kpi.testing.service;
 
 import com.kpi.testing.dao.ArchiveDAO;
 import com.kpi.testing.dao.DaoFactory;
+import com.kpi.testing.dao.ReportCursor;
 import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.ReportSort;
 import com.kpi.testing.dao.UserDAO;
 import com.kpi.testing.dto.*;
 import com.kpi.testing.entity.Report;
 import com.kpi.testing.entity.User;
 import com.kpi.testing.entity.enums.ReportStatus;
-import com.kpi.testing.entity.enums.Role;
 import com.kpi.testing.exceptions.UnknownReportError;
-import com.kpi.testing.util.SinglModelMapper;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import com.kpi.testing.service.assignment.InspectorAssignment;
+import com.kpi.testing.util.Pagination;
+import com.kpi.testing.util.mapper.Mapper;
+import com.kpi.testing.util.mapper.MapperRegistry;
 
-import java.lang.reflect.Type;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class ReportService {
+    /**
+     * Search term the home pages list with when the user has not searched.
+     */
+    private static final String MATCH_ANY = "_";
     UserDAO userDAO;
     ReportDAO reportDAO;
     ArchiveDAO archiveDAO;
-    ModelMapper modelMapper;
+    Mapper<Report, ReportForUserReportTableDTO> userTableMapper;
+    Mapper<Report, ReportForInspectorReportTableDTO> inspectorTableMapper;
+    Mapper<Report, UpdateReportDTO> updateMapper;
+    Mapper<AddReportDTO, Report> addMapper;
+    InspectorAssignment assignment = InspectorAssignment.getInstance();
+    ReportCounters counters = ReportCounters.getInstance();
 
     public ReportService() {
         DaoFactory factory = DaoFactory.getInstance();
-        userDAO = factory.createUserDao();
-        reportDAO = factory.createReportDao();
+        userDAO = factory.createCachedUserDao();
+        reportDAO = factory.createCachedReportDao();
         archiveDAO = factory.createArchiveDao();
-        modelMapper = SinglModelMapper.getInstance().getMapper();
+        MapperRegistry mappers = MapperRegistry.getInstance();
+        userTableMapper = mappers.get(Report.class, ReportForUserReportTableDTO.class);
+        inspectorTableMapper = mappers.get(Report.class, ReportForInspectorReportTableDTO.class);
+        updateMapper = mappers.get(Report.class, UpdateReportDTO.class);
+        addMapper = mappers.get(AddReportDTO.class, Report.class);
     }
 
     public List<ReportForUserReportTableDTO> getAllByUserForUserTable(User user, String name) {
         List<Report> reports = reportDAO.findByOwnerWhereNameLike(user, name);
-        Type pageType = new TypeToken<List<ReportForUserReportTableDTO>>() {
-        }.getType();
-        return modelMapper.map(reports, pageType);
+        return userTableMapper.mapAll(reports);
+    }
+
+    public void exportByOwner(User owner, Consumer<Report> consumer) {
+        reportDAO.streamByOwner(owner, consumer);
+    }
+
+    public void exportByInspector(User inspector, Consumer<Report> consumer) {
+        reportDAO.streamByInspector(inspector, consumer);
     }
 
     public List<ReportForInspectorReportTableDTO> getAllByInspectorAndStatusForTable(User user, ReportStatus status, String name) {
         List<Report> reports = reportDAO.findAllByInspectorsAndStatusWhereNameLike(user, status, name);
-        Type pageType = new TypeToken<List<ReportForInspectorReportTableDTO>>() {
-        }.getType();
-        return modelMapper.map(reports, pageType);
+        return inspectorTableMapper.mapAll(reports);
+    }
+
+    public Pagination<ReportForUserReportTableDTO> getPageByUserForUserTable(User user, String name, int page, int size) {
+        List<Report> reports = reportDAO.findByOwnerWhereNameLike(user, name, page, size, ReportSort.UPDATED_DESC);
+        long total = countByOwner(user, name);
+        return offsetPage(reports, page, size, total)
+                .map(userTableMapper::map);
+    }
+
+    public Pagination<ReportForUserReportTableDTO> getPageByUserForUserTable(User user, String name, ReportCursor cursor, int size) {
+        List<Report> reports = reportDAO.findByOwnerWhereNameLike(user, name, cursor, size + 1);
+        long total = (counters.isEnabled() && isUnfiltered(name)) ? counters.getOwnerTotal(user.getId()) : 0;
+        return seekPage(reports, cursor, size, total)
+                .map(userTableMapper::map);
+    }
+
+    public Pagination<ReportForInspectorReportTableDTO> getPageByInspectorAndStatusForTable(User user, ReportStatus status,
+                                                                                           String name, int page, int size) {
+        List<Report> reports = reportDAO.findAllByInspectorsAndStatusWhereNameLike(user, status, name, page, size, ReportSort.ID_ASC);
+        long total = countByInspector(user, status, name);
+        return offsetPage(reports, page, size, total)
+                .map(inspectorTableMapper::map);
+    }
+
+    public Pagination<ReportForInspectorReportTableDTO> getPageByInspectorAndStatusForTable(User user, ReportStatus status,
+                                                                                           String name, ReportCursor cursor, int size) {
+        List<Report> reports = reportDAO.findAllByInspectorsAndStatusWhereNameLike(user, status, name, cursor, size + 1);
+        long total = (counters.isEnabled() && isUnfiltered(name)) ? counters.getInspectorCount(user.getId(), status) : 0;
+        return seekPage(reports, cursor, size, total)
+                .map(inspectorTableMapper::map);
+    }
+
+    /**
+     * @return report count per status name for the owner's dashboard, or null when counters are off
+     */
+    public Map<String, Long> getStatusCountsByOwner(User owner) {
+        return counters.isEnabled() ? counters.getByOwner(owner.getId()) : null;
+    }
+
+    /**
+     * @return report count per status name for the inspector's dashboard, or null when counters are off
+     */
+    public Map<String, Long> getStatusCountsByInspector(User inspector) {
+        if (!counters.isEnabled()) {
+            return null;
+        }
+        Map<String, Long> counts = counters.getByInspector(inspector.getId());
+        // accepting a report unassigns it, so inspectors never have accepted ones
+        counts.remove(ReportStatus.ACCEPTED.name());
+        return counts;
+    }
+
+    /**
+     * Unfiltered listings take their total from {@link ReportCounters} instead of a count query.
+     */
+    private long countByOwner(User user, String name) {
+        return (counters.isEnabled() && isUnfiltered(name))
+                ? counters.getOwnerTotal(user.getId())
+                : reportDAO.countByOwnerWhereNameLike(user, name);
+    }
+
+    private long countByInspector(User user, ReportStatus status, String name) {
+        return (counters.isEnabled() && isUnfiltered(name))
+                ? counters.getInspectorCount(user.getId(), status)
+                : reportDAO.countByInspectorsAndStatusWhereNameLike(user, status, name);
+    }
+
+    private static boolean isUnfiltered(String name) {
+        return name == null || name.isEmpty() || name.equals(MATCH_ANY);
+    }
+
+    private Pagination<Report> offsetPage(List<Report> reports, int page, int size, long total) {
+        String previous = null;
+        String next = null;
+        if (!reports.isEmpty()) {
+            if (page > 0) {
+                previous = ReportCursor.before(reports.get(0)).encode();
+            }
+            if ((long) (page + 1) * size < total) {
+                next = ReportCursor.after(reports.get(reports.size() - 1)).encode();
+            }
+        }
+        return new Pagination<>(page, size, total, reports, previous, next);
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra row past the requested size,
+     * which tells whether there is anything beyond the page in the seek direction.
+     * Seek pages are not counted with a query: the total comes from {@link ReportCounters} when it can,
+     * otherwise it is 0 and only the previous and next links are shown.
+     */
+    private Pagination<Report> seekPage(List<Report> rows, ReportCursor cursor, int size, long total) {
+        boolean backward = cursor != null && cursor.isBackward();
+        boolean hasMore = rows.size() > size;
+        List<Report> reports = rows;
+        if (hasMore) {
+            reports = backward ? rows.subList(1, rows.size()) : rows.subList(0, size);
+        }
+        String previous = null;
+        String next = null;
+        if (!reports.isEmpty()) {
+            if (backward ? hasMore : cursor != null) {
+                previous = ReportCursor.before(reports.get(0)).encode();
+            }
+            if (backward || hasMore) {
+                next = ReportCursor.after(reports.get(reports.size() - 1)).encode();
+            }
+        }
+        return new Pagination<>(0, size, total, reports, previous, next);
     }
 
     public Report getFromDTO(AddReportDTO addReportDTO) {
-        return modelMapper.map(addReportDTO, Report.class);
+        return addMapper.map(addReportDTO);
     }
 
+    /**
+     * Stores the report, or with {@code reports.async.enabled} hands it to {@link ReportWriteBehind}
+     * and returns before it is stored.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the write-behind queue is full
+     */
     public void save(AddReportDTO addReportDTO, User owner) {
+        ReportWriteBehind writeBehind = ReportWriteBehind.getInstance();
+        if (writeBehind.isEnabled()) {
+            writeBehind.submit(addReportDTO, owner);
+            return;
+        }
         Report report = getFromDTO(addReportDTO);
         report.setStatus(ReportStatus.QUEUE);
         report.setOwner(owner);
-        List<User> inspectors = getInscpectors();
-        report.setInspectors(inspectors);
-        reportDAO.create(report);
-    }
-
-    private List<User> getInscpectors() {
-        return userDAO.findAllByRole(Role.ROLE_INSPECTOR);
+        report.setInspectors(assignment.assign());
+        try {
+            reportDAO.create(report);
+        } catch (RuntimeException e) {
+            assignment.dequeued(report.getInspectors());
+            throw e;
+        }
+        counters.created(report);
     }
 
 
     public UpdateReportDTO getForUpdate(Long id) throws UnknownReportError {
         Report report = reportDAO.findById(id).orElseThrow(UnknownReportError::new);
-        return modelMapper.map(report, UpdateReportDTO.class);
+        return updateMapper.map(report);
     }
 
-    public void update(Report report, UpdateReportDTO reportDTO) {
+    /**
+     * @return false if the report was no longer in the status it was loaded with; nothing is changed then
+     */
+    public boolean update(Report report, UpdateReportDTO reportDTO) {
+        ReportStatus from = report.getStatus();
         report.setName(reportDTO.getName());
         report.setDescription(reportDTO.getDescription());
         report.setStatus(ReportStatus.QUEUE);
-        reportDAO.update(report);
+        if (!reportDAO.updateIfStatus(report, from)) {
+            return false;
+        }
+        if (from != ReportStatus.QUEUE) {
+            assignment.queued(report.getInspectors());
+            counters.moved(report, from, report.getInspectors());
+        }
+        return true;
+    }
+
+    public void rebuildSearchIndex() {
+        reportDAO.rebuildNameIndex();
     }
 
     public Report getById(Long id) throws UnknownReportError {
@@ -0,0 +1,265 @@
+package com.kpi.testing.service;
+
+import com.kpi.testing.dao.DaoFactory;
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.service.assignment.InspectorAssignment;
+import com.kpi.testing.util.AppProperties;
+import com.kpi.testing.util.MetricsRegistry;
+import com.kpi.testing.util.mapper.Mapper;
+import com.kpi.testing.util.mapper.MapperRegistry;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Asynchronous submission of new reports, on when {@code reports.async.enabled} is set. A submitted
+ * report is journaled and queued, and the request returns without touching the database; a single
+ * writer thread drains the queue and stores whatever has piled up, up to {@code reports.async.batchSize}
+ * reports, in one {@link ReportDAO#createAll(List)} transaction.
+ * <p>
+ * The queue is bounded: when it is full {@link #submit} fails at once with {@link RejectedExecutionException}
+ * and the caller answers 503. Reports journaled but not stored when the application stopped are stored
+ * first on the next start. The journal path has no default: it has to be set to a file that survives reboots.
+ */
+public class ReportWriteBehind {
+    private static final String ENABLED = "reports.async.enabled";
+    private static final String QUEUE_CAPACITY = "reports.async.queue.capacity";
+    private static final String BATCH_SIZE = "reports.async.batchSize";
+    private static final String JOURNAL = "reports.async.journal";
+    private static final String RETRY_AFTER = "reports.async.retryAfterSeconds";
+    private static final String MAX_ATTEMPTS = "reports.async.maxAttempts";
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+    private static final Logger logger = getLogger(ReportWriteBehind.class);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retryAfterSeconds;
+    private final BlockingQueue<ReportJournal.Entry> queue;
+    private final ReportJournal journal;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final ReportDAO reportDAO;
+    private final InspectorAssignment assignment = InspectorAssignment.getInstance();
+    private final ReportCounters counters = ReportCounters.getInstance();
+    private final Mapper<AddReportDTO, Report> addMapper = MapperRegistry.getInstance().get(AddReportDTO.class, Report.class);
+    private final LongAdder rejected;
+    private final LongAdder stored;
+    private final LongAdder deadLettered;
+    private final MetricsRegistry.Timer batchTimer;
+
+    private static class LazyHolder {
+        static final ReportWriteBehind INSTANCE = new ReportWriteBehind();
+    }
+
+    public static ReportWriteBehind getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private ReportWriteBehind() {
+        enabled = AppProperties.getBoolean(ENABLED, false);
+        batchSize = AppProperties.getInt(BATCH_SIZE, 100);
+        maxAttempts = AppProperties.getInt(MAX_ATTEMPTS, 5);
+        retryAfterSeconds = AppProperties.getInt(RETRY_AFTER, 1);
+        int capacity = AppProperties.getInt(QUEUE_CAPACITY, 10000);
+        queue = new ArrayBlockingQueue<>(capacity);
+        reportDAO = DaoFactory.getInstance().createCachedReportDao();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("report_write_queue_depth", "Submitted reports waiting to be stored", queue::size);
+        metrics.gauge("report_write_queue_capacity", "Submitted report queue capacity", () -> capacity);
+        rejected = metrics.counter("report_write_rejected_total", "Report submissions rejected because the queue was full");
+        stored = metrics.counter("report_write_stored_total", "Queued reports stored in the database");
+        deadLettered = metrics.counter("report_write_dead_lettered_total", "Queued reports the database refused, moved to the rejected file");
+        batchTimer = metrics.timer("report_write_batch_seconds", "Time spent storing one batch of queued reports");
+        if (enabled) {
+            String path = AppProperties.getString(JOURNAL, null);
+            if (path == null || path.trim().isEmpty()) {
+                throw new IllegalStateException(JOURNAL + " must name a durable file when " + ENABLED + " is set");
+            }
+            try {
+                journal = new ReportJournal(Paths.get(path));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            writer = new Thread(this::drain, "report-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            journal = null;
+            writer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Journals and queues the report. Returns once the journal entry is on disk.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public void submit(AddReportDTO report, User owner) {
+        synchronized (queue) {
+            if (!running || queue.remainingCapacity() == 0) {
+                rejected.increment();
+                throw new RejectedExecutionException("Report queue is full");
+            }
+            try {
+                long sequence = journal.append(report, owner.getId());
+                queue.add(new ReportJournal.Entry(sequence, owner.getId(), report));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Stops accepting reports and waits for the queue to be stored. Whatever is left stays in the journal.
+     */
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (queue) {
+            running = false;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (writer.isAlive()) {
+                logger.warn("{} queued reports left in the journal", queue.size());
+                writer.interrupt();
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Closing report journal failed", e);
+        }
+    }
+
+    private void drain() {
+        List<ReportJournal.Entry> batch = new ArrayList<>(batchSize);
+        try {
+            List<ReportJournal.Entry> pending = journal.getPending();
+            if (!pending.isEmpty()) {
+                logger.info("Storing {} reports left in the journal", pending.size());
+            }
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                store(pending.subList(from, Math.min(from + batchSize, pending.size())));
+            }
+            while (running || !queue.isEmpty()) {
+                ReportJournal.Entry first = queue.poll(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                store(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores the batch, retrying with a growing delay. After {@code reports.async.maxAttempts} failed
+     * attempts the reports are stored one by one and the ones the database still refuses are moved to
+     * the journal's rejected file, so a single bad report cannot stall the writer. Then the batch is
+     * marked in the journal.
+     */
+    private void store(List<ReportJournal.Entry> batch) throws InterruptedException {
+        List<Report> reports = null;
+        long delay = RETRY_DELAY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (reports == null) {
+                    reports = toReports(batch);
+                }
+                long started = System.nanoTime();
+                reportDAO.createAll(reports);
+                batchTimer.record(System.nanoTime() - started);
+                stored.add(reports.size());
+                reports.forEach(counters::created);
+                break;
+            } catch (RuntimeException e) {
+                if (reports != null && attempt >= maxAttempts) {
+                    logger.error("Storing {} queued reports failed {} times, storing them one by one", reports.size(), attempt, e);
+                    storeOneByOne(batch, reports);
+                    break;
+                }
+                logger.error("Storing {} queued reports failed, retrying", batch.size(), e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+        try {
+            journal.commit(batch.get(batch.size() - 1).getSequence());
+        } catch (IOException e) {
+            logger.error("Marking stored reports in the journal failed, they will be stored again on restart", e);
+        }
+    }
+
+    private List<Report> toReports(List<ReportJournal.Entry> batch) {
+        List<Report> reports = new ArrayList<>(batch.size());
+        List<User> inspectors = assignment.findInspectors();
+        for (ReportJournal.Entry entry : batch) {
+            Report report = addMapper.map(entry.getReport());
+            report.setStatus(ReportStatus.QUEUE);
+            report.setOwner(User.builder().id(entry.getOwnerId()).build());
+            report.setInspectors(assignment.assign(inspectors));
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private void storeOneByOne(List<ReportJournal.Entry> batch, List<Report> reports) {
+        for (int i = 0; i < reports.size(); i++) {
+            Report report = reports.get(i);
+            try {
+                reportDAO.createAll(Collections.singletonList(report));
+                stored.increment();
+                counters.created(report);
+            } catch (RuntimeException e) {
+                logger.error("Queued report {} cannot be stored, moving it to the rejected file", batch.get(i).getSequence(), e);
+                assignment.dequeued(report.getInspectors());
+                deadLettered.increment();
+                try {
+                    journal.reject(batch.get(i));
+                } catch (IOException io) {
+                    AddReportDTO lost = batch.get(i).getReport();
+                    logger.error("Writing rejected report {} of owner {} failed: name={}, description={}",
+                            batch.get(i).getSequence(), batch.get(i).getOwnerId(), lost.getName(), lost.getDescription(), io);
+                }
+            }
+        }
+    }
+}
@@ -9,16 +9,20 @@ import com.kpi.testing.exceptions.InvalidUserException;
 import com.kpi.testing.exceptions.UserExistsException;
 import com.kpi.testing.exceptions.UsernameNotFoundException;
 import com.kpi.testing.util.BCryptEncoder;
+import com.kpi.testing.util.PasswordHasher;
 import com.kpi.testing.validators.NewUserValidator;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class UserService {
     UserDAO userDao;
 
     public UserService() {
         DaoFactory factory = DaoFactory.getInstance();
-        userDao = factory.createUserDao();
+        userDao = factory.createCachedUserDao();
     }
 
     public User loadUserByEmail(String s) throws UsernameNotFoundException {
@@ -29,13 +33,44 @@ public class UserService {
         return userDao.findById(id).orElseThrow(() -> new UsernameNotFoundException(String.format("User with id %d not found", id)));
     }
 
+    /**
+     * Like {@link #findById(Long)} but without the user's report lists, and served from the user cache.
+     */
+    public User findAccountById(Long id) throws UsernameNotFoundException {
+        return userDao.findAccountById(id).orElseThrow(() -> new UsernameNotFoundException(String.format("User with id %d not found", id)));
+    }
+
+    /**
+     * Plain user rows, for {@link com.kpi.testing.util.BatchLoader}.
+     */
+    public List<User> findAccountsByIds(Collection<Long> ids) {
+        return userDao.findAllByIds(ids);
+    }
+
     public void registration (User user) throws InvalidUserException, UserExistsException {
+        validateNewUser(user);
+        completeRegistration(user, new BCryptEncoder().encode(user.getPassword()));
+    }
+
+    /**
+     * Validates a new user and hashes the password on the {@link PasswordHasher} pool.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<String> prepareRegistration(User user) throws InvalidUserException {
+        validateNewUser(user);
+        return PasswordHasher.getInstance().encode(user.getPassword());
+    }
+
+    private void validateNewUser(User user) throws InvalidUserException {
         NewUserValidator validator = new NewUserValidator();
-        BCryptEncoder encoder = new BCryptEncoder();
         validator.validate(user);
         user.setStatus(Status.Active);
         user.setRole(Role.ROLE_USER);
-        user.setPassword(encoder.encode(user.getPassword()));
+    }
+
+    public void completeRegistration(User user, String passwordHash) throws UserExistsException {
+        user.setPassword(passwordHash);
         try {
             userDao.create(user);
         } catch (RuntimeException ex){
@@ -43,6 +78,11 @@ public class UserService {
         }
     }
 
+    public void updatePasswordHash(User user, String passwordHash) {
+        user.setPassword(passwordHash);
+        userDao.update(user);
+    }
+
     public User extractUserFromRegistration(HttpServletRequest requset) {
         return  User.builder()
                 .username(requset.getParameter("username"))
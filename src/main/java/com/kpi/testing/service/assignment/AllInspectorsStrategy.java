@@ -0,0 +1,30 @@
+package com.kpi.testing.service.assignment;
+
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Queues a new report for every inspector; a declined report goes back to the remaining ones,
+ * or to the last one if it was only assigned to them.
+ */
+public class AllInspectorsStrategy implements AssignmentStrategy {
+    @Override
+    public List<User> assign(List<User> inspectors, InspectorLoad load) {
+        return new ArrayList<>(inspectors);
+    }
+
+    @Override
+    public List<User> reassign(Report report, Long declinedBy, List<User> inspectors, InspectorLoad load) {
+        List<User> current = report.getInspectors();
+        if (current.size() <= 1) {
+            return current;
+        }
+        return current.stream()
+                .filter(inspector -> !inspector.getId().equals(declinedBy))
+                .collect(Collectors.toList());
+    }
+}
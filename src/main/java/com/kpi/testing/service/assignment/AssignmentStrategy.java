@@ -0,0 +1,24 @@
+package com.kpi.testing.service.assignment;
+
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+
+import java.util.List;
+
+/**
+ * Chooses the inspectors a report is queued for.
+ */
+public interface AssignmentStrategy {
+    /**
+     * @param inspectors every inspector in the system
+     * @return inspectors for a new report
+     */
+    List<User> assign(List<User> inspectors, InspectorLoad load);
+
+    /**
+     * @param declinedBy id of the inspector whose decline the owner answered by asking for another one
+     * @param inspectors every inspector in the system
+     * @return inspectors the report goes back to
+     */
+    List<User> reassign(Report report, Long declinedBy, List<User> inspectors, InspectorLoad load);
+}
@@ -0,0 +1,99 @@
+package com.kpi.testing.service.assignment;
+
+import com.kpi.testing.dao.DaoFactory;
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.dao.UserDAO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.entity.enums.Role;
+import com.kpi.testing.util.AppProperties;
+
+import java.util.List;
+
+/**
+ * Decides which inspectors a report is queued for, with the strategy named by {@code assignment.strategy}:
+ * {@code all} (the default) queues every report for every inspector, {@code leastLoaded} for the
+ * {@code assignment.inspectorsPerReport} inspectors with the shortest queues.
+ * <p>
+ * Queue depths are counted once from the database and then updated by the services as reports are
+ * assigned, accepted, declined and resubmitted. Assigned inspectors are counted as soon as they are
+ * picked, so concurrent submissions spread out; callers give them back with {@link #dequeued(List)}
+ * if the report is not stored.
+ */
+public class InspectorAssignment {
+    private static final String STRATEGY = "assignment.strategy";
+    private static final String PER_REPORT = "assignment.inspectorsPerReport";
+    private static final String LEAST_LOADED = "leastLoaded";
+
+    private final AssignmentStrategy strategy;
+    private final InspectorLoad load = new InspectorLoad();
+    private final UserDAO userDAO;
+
+    private static class LazyHolder {
+        static final InspectorAssignment INSTANCE = new InspectorAssignment();
+    }
+
+    public static InspectorAssignment getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private InspectorAssignment() {
+        if (LEAST_LOADED.equalsIgnoreCase(AppProperties.getString(STRATEGY, "all"))) {
+            strategy = new LeastLoadedStrategy(AppProperties.getInt(PER_REPORT, 1));
+        } else {
+            strategy = new AllInspectorsStrategy();
+        }
+        DaoFactory factory = DaoFactory.getInstance();
+        userDAO = factory.createCachedUserDao();
+        ReportDAO reportDAO = factory.createCachedReportDao();
+        load.seed(reportDAO.countByInspectorAndStatus(ReportStatus.QUEUE));
+    }
+
+    public List<User> findInspectors() {
+        return userDAO.findAllByRole(Role.ROLE_INSPECTOR);
+    }
+
+    /**
+     * Picks and counts the inspectors for a new report.
+     */
+    public List<User> assign() {
+        return assign(findInspectors());
+    }
+
+    /**
+     * Same as {@link #assign()} with the inspectors already loaded, for callers assigning many reports.
+     */
+    public List<User> assign(List<User> inspectors) {
+        List<User> picked = strategy.assign(inspectors, load);
+        load.queued(picked);
+        return picked;
+    }
+
+    /**
+     * Picks and counts the inspectors a declined report goes back to.
+     */
+    public List<User> reassign(Report report, Long declinedBy) {
+        List<User> picked = strategy.reassign(report, declinedBy, findInspectors(), load);
+        load.queued(picked);
+        return picked;
+    }
+
+    /**
+     * Counts a report that went back to the queue of its inspectors.
+     */
+    public void queued(List<User> inspectors) {
+        load.queued(inspectors);
+    }
+
+    /**
+     * Uncounts a report that left the queue of its inspectors.
+     */
+    public void dequeued(List<User> inspectors) {
+        load.dequeued(inspectors);
+    }
+
+    public int getQueueDepth(Long inspectorId) {
+        return load.get(inspectorId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kpi.testing.service.assignment;
+
+import com.kpi.testing.entity.User;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open queue depth per inspector: the number of reports waiting in {@code QUEUE} that are assigned to them.
+ * Seeded from the database once and then kept up to date in memory as reports enter and leave the queue.
+ */
+public class InspectorLoad {
+    private final Map<Long, AtomicInteger> queued = new ConcurrentHashMap<>();
+
+    public void seed(Map<Long, Integer> counts) {
+        counts.forEach((inspectorId, count) -> counter(inspectorId).set(count));
+    }
+
+    public int get(Long inspectorId) {
+        AtomicInteger count = queued.get(inspectorId);
+        return (count == null) ? 0 : count.get();
+    }
+
+    public void queued(Collection<User> inspectors) {
+        inspectors.forEach(inspector -> counter(inspector.getId()).incrementAndGet());
+    }
+
+    public void dequeued(Collection<User> inspectors) {
+        inspectors.forEach(inspector -> counter(inspector.getId()).updateAndGet(count -> Math.max(0, count - 1)));
+    }
+
+    private AtomicInteger counter(Long inspectorId) {
+        return queued.computeIfAbsent(inspectorId, id -> new AtomicInteger());
+    }
+}
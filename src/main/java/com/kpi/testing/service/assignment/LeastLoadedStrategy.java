@@ -0,0 +1,48 @@
+package com.kpi.testing.service.assignment;
+
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Queues a report for the {@code perReport} inspectors with the fewest open reports. A declined report
+ * goes to the least loaded inspectors other than the one who declined it.
+ */
+public class LeastLoadedStrategy implements AssignmentStrategy {
+    private final int perReport;
+
+    public LeastLoadedStrategy(int perReport) {
+        this.perReport = perReport;
+    }
+
+    @Override
+    public List<User> assign(List<User> inspectors, InspectorLoad load) {
+        return leastLoaded(inspectors, load);
+    }
+
+    @Override
+    public List<User> reassign(Report report, Long declinedBy, List<User> inspectors, InspectorLoad load) {
+        List<User> candidates = inspectors.stream()
+                .filter(inspector -> !inspector.getId().equals(declinedBy))
+                .collect(Collectors.toList());
+        return candidates.isEmpty() ? report.getInspectors() : leastLoaded(candidates, load);
+    }
+
+    /**
+     * Sorts on a snapshot of the counters, which other requests keep changing.
+     */
+    private List<User> leastLoaded(List<User> inspectors, InspectorLoad load) {
+        Map<Long, Integer> queued = new HashMap<>();
+        inspectors.forEach(inspector -> queued.put(inspector.getId(), load.get(inspector.getId())));
+        return inspectors.stream()
+                .sorted(Comparator.<User>comparingInt(inspector -> queued.get(inspector.getId()))
+                        .thenComparing(User::getId))
+                .limit(perReport)
+                .collect(Collectors.toList());
+    }
+}
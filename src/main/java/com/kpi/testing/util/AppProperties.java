@@ -0,0 +1,71 @@
+package com.kpi.testing.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application settings loaded from the classpath properties file that also configures the data source.
+ * Tests switch the file through {@link com.kpi.testing.dao.impl.DataSourceHolder#setProp(String)}.
+ */
+public class AppProperties {
+    private static volatile String propFile = "application.properties";
+    private static volatile Properties properties;
+
+    public static Properties getProperties() {
+        if (properties == null) {
+            synchronized (AppProperties.class) {
+                if (properties == null) {
+                    properties = load(propFile);
+                }
+            }
+        }
+        return properties;
+    }
+
+    public static synchronized void setPropFile(String file) {
+        propFile = file;
+        properties = null;
+    }
+
+    public static String getPropFile() {
+        return propFile;
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = getProperties().getProperty(key);
+        return (value == null) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)));
+    }
+
+    private static Properties load(String file) {
+        try (InputStream input = AppProperties.class.getClassLoader().getResourceAsStream(file)) {
+            Properties loaded = new Properties();
+            if (input != null) {
+                loaded.load(input);
+            }
+            return loaded;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
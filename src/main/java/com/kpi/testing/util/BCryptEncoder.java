@@ -1,18 +1,92 @@
 package com.kpi.testing.util;
 
 import org.mindrot.jbcrypt.BCrypt;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
 
 import java.security.SecureRandom;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 public class BCryptEncoder {
+    private static final Logger logger = getLogger(BCryptEncoder.class);
+    private static final String COST = "bcrypt.cost";
+    private static final String CALIBRATE = "bcrypt.cost.calibrate";
+    private static final String TARGET_MILLIS = "bcrypt.cost.targetMillis";
+    private static final String MIN_COST = "bcrypt.cost.min";
+    private static final String MAX_COST = "bcrypt.cost.max";
+    private static final int DEFAULT_STRENGTH = 10; //default in spring
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static volatile int defaultStrength = DEFAULT_STRENGTH;
+
     private final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2a?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private final int strength;
+
+    /**
+     * Encoder using the deployment-wide cost chosen by {@link #configure()}.
+     */
+    public BCryptEncoder() {
+        this(-1);
+    }
+
+    public BCryptEncoder(int strength) {
+        this.strength = strength;
+    }
+
+    /**
+     * Sets the deployment-wide cost: {@value #COST} if given, otherwise, with {@value #CALIBRATE} on,
+     * the highest cost in [{@value #MIN_COST}, {@value #MAX_COST}] whose hash fits {@value #TARGET_MILLIS}
+     * on this host.
+     */
+    public static int configure() {
+        int configured = AppProperties.getInt(COST, -1);
+        if (configured > 0) {
+            defaultStrength = configured;
+        } else if (AppProperties.getBoolean(CALIBRATE, false)) {
+            defaultStrength = calibrate(AppProperties.getLong(TARGET_MILLIS, 250),
+                    AppProperties.getInt(MIN_COST, DEFAULT_STRENGTH), AppProperties.getInt(MAX_COST, 14));
+        } else {
+            defaultStrength = DEFAULT_STRENGTH;
+        }
+        logger.info("BCrypt cost set to " + defaultStrength);
+        return defaultStrength;
+    }
+
+    /**
+     * Each cost step doubles the work, so costs are tried upwards while the next one is expected to fit.
+     */
+    static int calibrate(long targetMillis, int minCost, int maxCost) {
+        int cost = minCost;
+        long nanos = time(cost);
+        while (cost < maxCost && nanos * 2 <= targetMillis * 1_000_000L) {
+            cost++;
+            nanos = time(cost);
+        }
+        if (nanos > targetMillis * 1_000_000L && cost > minCost) {
+            cost--;
+        }
+        return cost;
+    }
+
+    private static long time(int cost) {
+        String salt = BCrypt.gensalt(cost, RANDOM);
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+
+    public int getStrength() {
+        return (strength > 0) ? strength : defaultStrength;
+    }
 
     public  String encode(CharSequence rawPassword) {
-        String salt;
-        int strength = 10; //default in spring
-        salt = BCrypt.gensalt(strength, new SecureRandom());
+        String salt = BCrypt.gensalt(getStrength(), RANDOM);
         return BCrypt.hashpw(rawPassword.toString(), salt);
     }
 
@@ -27,4 +101,15 @@ public class BCryptEncoder {
             return false;
         }
     }
+
+    /**
+     * @return true if the hash was made with a lower cost than the current one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) < getStrength();
+    }
 }
@@ -0,0 +1,94 @@
+package com.kpi.testing.util;
+
+import javax.servlet.ServletRequest;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Collects ids asked for while a command builds its page and resolves them together, so a table that
+ * shows the owner or the inspectors of every row costs one {@code in (...)} query instead of one per row.
+ * {@link #load(Long)} only registers the id; the first {@link Ref#get()} fetches everything registered so far.
+ * Not thread-safe: one loader serves one request, see {@link #forRequest(ServletRequest, String, Function, Function)}.
+ */
+public class BatchLoader<T> {
+    private final Function<Collection<Long>, List<T>> batch;
+    private final Function<T, Long> idOf;
+    private final Map<Long, T> loaded = new HashMap<>();
+    private final Set<Long> pending = new LinkedHashSet<>();
+
+    /**
+     * @param batch usually a DAO's {@code findAllByIds}
+     * @param idOf  id of a loaded entity
+     */
+    public BatchLoader(Function<Collection<Long>, List<T>> batch, Function<T, Long> idOf) {
+        this.batch = batch;
+        this.idOf = idOf;
+    }
+
+    /**
+     * @return the loader stored in the request under {@code name}, created on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BatchLoader<T> forRequest(ServletRequest request, String name,
+                                                Function<Collection<Long>, List<T>> batch, Function<T, Long> idOf) {
+        String attribute = BatchLoader.class.getName() + "." + name;
+        BatchLoader<T> loader = (BatchLoader<T>) request.getAttribute(attribute);
+        if (loader == null) {
+            loader = new BatchLoader<>(batch, idOf);
+            request.setAttribute(attribute, loader);
+        }
+        return loader;
+    }
+
+    /**
+     * Value resolved on first access, usable from JSP EL as {@code ${ref.value}}.
+     */
+    public class Ref {
+        private final Long id;
+
+        private Ref(Long id) {
+            this.id = id;
+        }
+
+        public T get() {
+            return BatchLoader.this.get(id).orElse(null);
+        }
+
+        public T getValue() {
+            return get();
+        }
+    }
+
+    public Ref load(Long id) {
+        if (id != null && !loaded.containsKey(id)) {
+            pending.add(id);
+        }
+        return new Ref(id);
+    }
+
+    public Optional<T> get(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        if (!loaded.containsKey(id)) {
+            pending.add(id);
+            dispatch();
+        }
+        return Optional.ofNullable(loaded.get(id));
+    }
+
+    /**
+     * Fetches every registered id not loaded yet with one batch call; unknown ids are remembered as missing.
+     */
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.clear();
+        for (T entity : batch.apply(ids)) {
+            loaded.put(idOf.apply(entity), entity);
+        }
+        ids.forEach(id -> loaded.putIfAbsent(id, null));
+    }
+}
@@ -0,0 +1,169 @@
+package com.kpi.testing.util;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size and time bounded LRU cache with hit, miss and eviction counters.
+ * A value loaded while an invalidation happened is returned to the caller but not cached,
+ * so a reader racing with a writer cannot put a stale value back.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    public BoundedCache(int maxSize, long ttlMillis, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = nanoClock;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @return cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt >= 0) {
+            map.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value or loads it; null results are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    put(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values of the keys and loads all missing ones with a single loader call;
+     * keys without a value are absent from the result and null results are not cached.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<? super List<K>, ? extends Map<K, ? extends V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (K key : keys) {
+                V cached = get(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        Map<K, ? extends V> loaded = loader.apply(missing);
+        synchronized (this) {
+            boolean current = loadGeneration == generation;
+            loaded.forEach((key, value) -> {
+                if (value != null) {
+                    result.put(key, value);
+                    if (current) {
+                        put(key, value);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = map.entrySet().iterator();
+        while (map.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        map.remove(key);
+    }
+
+    public synchronized void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        generation++;
+        map.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + "}";
+    }
+}
@@ -0,0 +1,56 @@
+package com.kpi.testing.util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram. Every bucket is a {@link LongAdder}, so concurrent recorders update
+ * separate cells instead of contending on one counter; recording is a binary search and an increment.
+ * Bucket bounds are the usual Prometheus ones, from 1 ms to 10 s.
+ */
+public class LatencyHistogram {
+    private static final double[] BOUNDS_SECONDS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final long[] BOUNDS_NANOS = Arrays.stream(BOUNDS_SECONDS)
+            .mapToLong(seconds -> (long) (seconds * TimeUnit.SECONDS.toNanos(1)))
+            .toArray();
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int index = Arrays.binarySearch(BOUNDS_NANOS, nanos);
+        buckets[(index >= 0) ? index : -index - 1].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * @return upper bounds in seconds, without the final +Inf bucket
+     */
+    public static double[] getBoundsSeconds() {
+        return BOUNDS_SECONDS.clone();
+    }
+
+    /**
+     * @return cumulative counts per bound, the last element being the +Inf bucket, i.e. the total count
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,114 @@
+package com.kpi.testing.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide gauges, counters and timers. Names follow the Prometheus convention
+ * ({@code snake_case}, {@code _total} for counters, {@code _seconds} for timers).
+ */
+public class MetricsRegistry {
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, LongAdder>> labelledCounters = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, String> help = new ConcurrentHashMap<>();
+
+    private static class LazyHolder {
+        static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Count, sum and maximum of recorded durations.
+     */
+    public static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+    }
+
+    public void gauge(String name, String description, Supplier<? extends Number> value) {
+        help.put(name, description);
+        gauges.put(name, value);
+    }
+
+    public LongAdder counter(String name, String description) {
+        help.putIfAbsent(name, description);
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * @param labels Prometheus label pairs without braces, as for {@link #histogram(String, String, String)}
+     */
+    public LongAdder counter(String name, String description, String labels) {
+        help.putIfAbsent(name, description);
+        return labelledCounters.computeIfAbsent(name, key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(labels, key -> new LongAdder());
+    }
+
+    public Timer timer(String name, String description) {
+        help.putIfAbsent(name, description);
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    /**
+     * @param labels Prometheus label pairs without braces, e.g. {@code command="IndexCommand",status="200"}
+     */
+    public LatencyHistogram histogram(String name, String description, String labels) {
+        help.putIfAbsent(name, description);
+        return histograms.computeIfAbsent(name, key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(labels, key -> new LatencyHistogram());
+    }
+
+    public Map<String, Supplier<? extends Number>> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    public Map<String, LongAdder> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    public Map<String, Map<String, LongAdder>> getLabelledCounters() {
+        return Collections.unmodifiableMap(labelledCounters);
+    }
+
+    public Map<String, Timer> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    public Map<String, Map<String, LatencyHistogram>> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    public String getHelp(String name) {
+        return help.getOrDefault(name, name);
+    }
+}
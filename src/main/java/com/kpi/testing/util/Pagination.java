@@ -1,34 +1,66 @@
 package com.kpi.testing.util;
 
-import com.kpi.testing.dto.ReportForUserReportTableDTO;
-
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * One page of rows loaded from the database together with the total number of matching rows
+ * and the opaque cursors of the neighbouring pages, if there are any.
+ */
 public class Pagination<T> {
 
+    private final int page;
     private final int limit;
-    private final List<T> list;
+    private final long total;
+    private final List<T> content;
+    private final String previousCursor;
+    private final String nextCursor;
+
+    public Pagination(int page, int limit, long total, List<T> content) {
+        this(page, limit, total, content, null, null);
+    }
 
-    public Pagination(int limit, List<T> list) {
+    public Pagination(int page, int limit, long total, List<T> content, String previousCursor, String nextCursor) {
+        this.page = page;
         this.limit = limit;
-        this.list = list;
+        this.total = total;
+        this.content = content;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getPage(){
+        return content;
+    }
+
+    public int getPageNumber() {
+        return page;
     }
 
-    public List<T> getPage(int page){
-        int start = (page == 0)? 0: page * limit;
-        int end = start + limit;
-        if (start > list.size()){
-            return new ArrayList<>();
-        }
-        if (end > list.size()){
-            end = list.size();
-        }
-        return list.subList(start, end);
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getTotal() {
+        return total;
     }
 
     public int getTotalPages() {
-        return (int) Math.ceil((float) list.size()/limit);
+        return (int) Math.ceil((double) total / limit);
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public <R> Pagination<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new Pagination<>(page, limit, total, mapped, previousCursor, nextCursor);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.kpi.testing.util;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPUs, so request threads do not burn on password hashing.
+ * The queue is bounded: when it is full the call fails at once with {@link RejectedExecutionException}
+ * and the caller answers 503 instead of piling up requests.
+ */
+public class PasswordHasher {
+    private static final String WORKERS = "bcrypt.workers";
+    private static final String QUEUE_CAPACITY = "bcrypt.queue.capacity";
+    private static final String RETRY_AFTER = "bcrypt.retryAfterSeconds";
+
+    private final BCryptEncoder encoder = new BCryptEncoder();
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final LongAdder rejected;
+    private final MetricsRegistry.Timer waitTimer;
+    private final MetricsRegistry.Timer hashTimer;
+
+    private static class LazyHolder {
+        static final PasswordHasher INSTANCE = new PasswordHasher();
+    }
+
+    public static PasswordHasher getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private PasswordHasher() {
+        this(AppProperties.getInt(WORKERS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private PasswordHasher(int workers) {
+        this(workers, AppProperties.getInt(QUEUE_CAPACITY, workers * 16), AppProperties.getInt(RETRY_AFTER, 1));
+    }
+
+    /**
+     * A pool of its own, for tests; the application shares {@link #getInstance()}.
+     *
+     * @param capacity tasks allowed to wait for a worker
+     */
+    public PasswordHasher(int workers, int capacity, int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("bcrypt_queue_depth", "Password hashing tasks waiting for a worker", () -> executor.getQueue().size());
+        metrics.gauge("bcrypt_active_workers", "Password hashing workers busy", executor::getActiveCount);
+        metrics.gauge("bcrypt_queue_capacity", "Password hashing queue capacity", () -> capacity);
+        rejected = metrics.counter("bcrypt_rejected_total", "Password hashing tasks rejected because the queue was full");
+        waitTimer = metrics.timer("bcrypt_wait_seconds", "Time password hashing tasks spent in the queue");
+        hashTimer = metrics.timer("bcrypt_hash_seconds", "Time spent hashing or verifying a password");
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * @return true if the hash was made with a lower cost than the deployment's current one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.needsRehash(encodedPassword);
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queued = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - queued);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - started);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.kpi.testing.util;
+
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Writes {@link MetricsRegistry} and JVM heap, GC and thread statistics in the Prometheus text format 0.0.4.
+ */
+public class PrometheusExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricsRegistry registry;
+
+    public PrometheusExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void write(PrintWriter out) {
+        for (Map.Entry<String, Supplier<? extends Number>> gauge : registry.getGauges().entrySet()) {
+            header(out, gauge.getKey(), registry.getHelp(gauge.getKey()), "gauge");
+            sample(out, gauge.getKey(), "", gauge.getValue().get());
+        }
+        for (Map.Entry<String, LongAdder> counter : registry.getCounters().entrySet()) {
+            header(out, counter.getKey(), registry.getHelp(counter.getKey()), "counter");
+            sample(out, counter.getKey(), "", counter.getValue().sum());
+        }
+        for (Map.Entry<String, Map<String, LongAdder>> family : registry.getLabelledCounters().entrySet()) {
+            header(out, family.getKey(), registry.getHelp(family.getKey()), "counter");
+            for (Map.Entry<String, LongAdder> counter : family.getValue().entrySet()) {
+                sample(out, family.getKey(), counter.getKey(), counter.getValue().sum());
+            }
+        }
+        for (Map.Entry<String, MetricsRegistry.Timer> entry : registry.getTimers().entrySet()) {
+            String name = entry.getKey();
+            MetricsRegistry.Timer timer = entry.getValue();
+            header(out, name, registry.getHelp(name), "summary");
+            sample(out, name + "_count", "", timer.getCount());
+            sample(out, name + "_sum", "", timer.getTotalNanos() / NANOS_PER_SECOND);
+            header(out, name + "_max", "Maximum of " + name, "gauge");
+            sample(out, name + "_max", "", timer.getMaxNanos() / NANOS_PER_SECOND);
+        }
+        double[] bounds = LatencyHistogram.getBoundsSeconds();
+        for (Map.Entry<String, Map<String, LatencyHistogram>> family : registry.getHistograms().entrySet()) {
+            String name = family.getKey();
+            header(out, name, registry.getHelp(name), "histogram");
+            for (Map.Entry<String, LatencyHistogram> entry : family.getValue().entrySet()) {
+                String labels = entry.getKey();
+                String prefix = labels.isEmpty() ? "" : labels + ",";
+                long[] counts = entry.getValue().getCumulativeCounts();
+                for (int i = 0; i < bounds.length; i++) {
+                    sample(out, name + "_bucket", prefix + "le=\"" + bounds[i] + "\"", counts[i]);
+                }
+                sample(out, name + "_bucket", prefix + "le=\"+Inf\"", counts[bounds.length]);
+                sample(out, name + "_sum", labels, entry.getValue().getSumNanos() / NANOS_PER_SECOND);
+                sample(out, name + "_count", labels, counts[bounds.length]);
+            }
+        }
+        writeJvm(out);
+    }
+
+    private static void writeJvm(PrintWriter out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        header(out, "jvm_memory_bytes_used", "Used bytes of a given JVM memory area", "gauge");
+        sample(out, "jvm_memory_bytes_used", "area=\"heap\"", heap.getUsed());
+        sample(out, "jvm_memory_bytes_used", "area=\"nonheap\"", nonHeap.getUsed());
+        header(out, "jvm_memory_bytes_committed", "Committed bytes of a given JVM memory area", "gauge");
+        sample(out, "jvm_memory_bytes_committed", "area=\"heap\"", heap.getCommitted());
+        sample(out, "jvm_memory_bytes_committed", "area=\"nonheap\"", nonHeap.getCommitted());
+        header(out, "jvm_memory_bytes_max", "Max bytes of a given JVM memory area", "gauge");
+        sample(out, "jvm_memory_bytes_max", "area=\"heap\"", heap.getMax());
+        sample(out, "jvm_memory_bytes_max", "area=\"nonheap\"", nonHeap.getMax());
+
+        header(out, "jvm_gc_collection_seconds", "Time spent in a given JVM garbage collector", "summary");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String labels = "gc=\"" + escape(gc.getName()) + "\"";
+            sample(out, "jvm_gc_collection_seconds_count", labels, gc.getCollectionCount());
+            sample(out, "jvm_gc_collection_seconds_sum", labels, gc.getCollectionTime() / 1000.0);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        header(out, "jvm_threads_current", "Current thread count", "gauge");
+        sample(out, "jvm_threads_current", "", threads.getThreadCount());
+        header(out, "jvm_threads_daemon", "Daemon thread count", "gauge");
+        sample(out, "jvm_threads_daemon", "", threads.getDaemonThreadCount());
+        header(out, "jvm_threads_peak", "Peak thread count", "gauge");
+        sample(out, "jvm_threads_peak", "", threads.getPeakThreadCount());
+    }
+
+    private static void header(PrintWriter out, String name, String help, String type) {
+        out.print("# HELP ");
+        out.print(name);
+        out.print(' ');
+        out.println(help.replace("\\", "\\\\").replace("\n", "\\n"));
+        out.print("# TYPE ");
+        out.print(name);
+        out.print(' ');
+        out.println(type);
+    }
+
+    private static void sample(PrintWriter out, String name, String labels, Number value) {
+        out.print(name);
+        if (!labels.isEmpty()) {
+            out.print('{');
+            out.print(labels);
+            out.print('}');
+        }
+        out.print(' ');
+        out.println(value);
+    }
+
+    public static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
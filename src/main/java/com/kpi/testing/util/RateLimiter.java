@@ -0,0 +1,68 @@
+package com.kpi.testing.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key. Buckets live in a {@link ConcurrentHashMap} and are updated with a CAS loop,
+ * so callers for different keys never contend. Buckets idle long enough to be full again carry
+ * no state and are swept out, which keeps the map bounded by the number of recently active keys.
+ */
+public class RateLimiter {
+    private static final long SWEEP_EVERY = 1024;
+
+    private final long capacityNanos;
+    private final long nanosPerToken;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param capacity burst size
+     * @param tokensPerMinute refill rate
+     */
+    public RateLimiter(int capacity, int tokensPerMinute) {
+        this(capacity, tokensPerMinute, System::nanoTime);
+    }
+
+    public RateLimiter(int capacity, int tokensPerMinute, LongSupplier clock) {
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, tokensPerMinute);
+        this.capacityNanos = nanosPerToken * Math.max(1, capacity);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return false if the bucket is empty
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        if (calls.incrementAndGet() % SWEEP_EVERY == 0) {
+            evictIdle(now);
+        }
+        // A bucket is the instant at which it would be full again; tokens left = (that instant - now) headroom.
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + nanosPerToken;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return true;
+            }
+        }
+    }
+
+    public void evictIdle(long now) {
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
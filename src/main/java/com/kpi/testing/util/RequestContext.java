@@ -0,0 +1,22 @@
+package com.kpi.testing.util;
+
+/**
+ * Name of the command handling the current request, for diagnostics below the controller layer.
+ */
+public class RequestContext {
+    private static final String NONE = "-";
+    private static final ThreadLocal<String> command = new ThreadLocal<>();
+
+    public static void setCommand(String name) {
+        command.set(name);
+    }
+
+    public static String getCommand() {
+        String name = command.get();
+        return (name == null) ? NONE : name;
+    }
+
+    public static void clear() {
+        command.remove();
+    }
+}
@@ -1,5 +1,15 @@
 package com.kpi.testing.util.annotation;
 
+import java.lang.annotation.*;
+
+/**
+ * Documentation only: nothing reads this annotation. It marks a service method whose whole body runs
+ * as one unit of work through {@link com.kpi.testing.dao.TransactionManager#inTransaction(Runnable)},
+ * which the method has to call itself.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
 public @interface Transactional {
 
 }
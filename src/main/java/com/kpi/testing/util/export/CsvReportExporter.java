@@ -0,0 +1,80 @@
+package com.kpi.testing.util.export;
+
+import com.kpi.testing.entity.Report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * RFC 4180 CSV: fields with commas, quotes or line breaks are quoted and quotes are doubled.
+ * Text starting with {@code = + - @}, a tab or a carriage return gets a leading {@code '} so spreadsheets
+ * do not evaluate user input as a formula.
+ */
+public class CsvReportExporter implements ReportExporter {
+    private static final String HEADER = "id,name,description,status,created,updated,decline_reason";
+    private final Writer out;
+
+    public CsvReportExporter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(Report report) throws IOException {
+        Object[] values = {report.getId(), report.getName(), report.getDescription(), report.getStatus(),
+                report.getCreated(), report.getUpdated(), report.getDeclineReason()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            field(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+
+    private void field(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = Objects.toString(value);
+        if (value instanceof String && isFormula(text)) {
+            text = "'" + text;
+        }
+        if (needsQuotes(text)) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+    }
+
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kpi.testing.util.export;
+
+import java.io.Writer;
+import java.util.function.Function;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv", CsvReportExporter::new),
+    JSON("application/json", "json", JsonReportExporter::new);
+
+    private final String contentType;
+    private final String fileExtension;
+    private final Function<Writer, ReportExporter> factory;
+
+    ExportFormat(String contentType, String fileExtension, Function<Writer, ReportExporter> factory) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+        this.factory = factory;
+    }
+
+    /**
+     * @return JSON for {@code json} in any case, CSV for anything else
+     */
+    public static ExportFormat of(String name) {
+        return JSON.fileExtension.equalsIgnoreCase(name) ? JSON : CSV;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public ReportExporter open(Writer out) {
+        return factory.apply(out);
+    }
+}
@@ -0,0 +1,83 @@
+package com.kpi.testing.util.export;
+
+import com.kpi.testing.entity.Report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A JSON array of report objects written element by element.
+ */
+public class JsonReportExporter implements ReportExporter {
+    private final Writer out;
+    private boolean first = true;
+
+    public JsonReportExporter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write('[');
+    }
+
+    @Override
+    public void write(Report report) throws IOException {
+        out.write(first ? "\n" : ",\n");
+        first = false;
+        out.write("{\"id\":");
+        out.write(String.valueOf(report.getId()));
+        property("name", report.getName());
+        property("description", report.getDescription());
+        property("status", report.getStatus());
+        property("created", report.getCreated());
+        property("updated", report.getUpdated());
+        property("declineReason", report.getDeclineReason());
+        out.write('}');
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.write("\n]\n");
+        out.flush();
+    }
+
+    private void property(String name, Object value) throws IOException {
+        out.write(",\"");
+        out.write(name);
+        out.write("\":");
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        String text = value.toString();
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
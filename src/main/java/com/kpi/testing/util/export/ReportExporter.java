@@ -0,0 +1,16 @@
+package com.kpi.testing.util.export;
+
+import com.kpi.testing.entity.Report;
+
+import java.io.IOException;
+
+/**
+ * Writes reports one at a time to a character stream, keeping nothing but the current row in memory.
+ */
+public interface ReportExporter {
+    void begin() throws IOException;
+
+    void write(Report report) throws IOException;
+
+    void end() throws IOException;
+}
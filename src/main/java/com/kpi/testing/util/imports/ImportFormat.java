@@ -0,0 +1,21 @@
+package com.kpi.testing.util.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public enum ImportFormat {
+    XML, JSON;
+
+    /**
+     * @return JSON for a {@code .json} file or a JSON content type, XML otherwise
+     */
+    public static ImportFormat of(String fileName, String contentType) {
+        boolean json = (fileName != null && fileName.toLowerCase().endsWith(".json"))
+                || (contentType != null && contentType.toLowerCase().contains("json"));
+        return json ? JSON : XML;
+    }
+
+    public ReportRecordReader open(InputStream in) throws IOException {
+        return (this == JSON) ? new JsonReportReader(in) : new XmlReportReader(in);
+    }
+}
@@ -0,0 +1,63 @@
+package com.kpi.testing.util.imports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kpi.testing.dto.AddReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a top-level JSON array of {@code {"name": ..., "description": ...}} objects with the Jackson
+ * streaming parser. Unknown fields are skipped.
+ */
+public class JsonReportReader implements ReportRecordReader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean started;
+
+    public JsonReportReader(InputStream in) throws IOException {
+        parser = FACTORY.createParser(in);
+    }
+
+    @Override
+    public AddReportDTO next() throws IOException {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw malformed("expected an array of reports");
+            }
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY || token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw malformed("expected a report object");
+        }
+        AddReportDTO report = new AddReportDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_STRING && field.equals("name")) {
+                report.setName(parser.getText());
+            } else if (value == JsonToken.VALUE_STRING && field.equals("description")) {
+                report.setDescription(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return report;
+    }
+
+    private IOException malformed(String message) {
+        return new IOException("Malformed JSON at line " + parser.getCurrentLocation().getLineNr() + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.kpi.testing.util.imports;
+
+import com.kpi.testing.dto.AddReportDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull parser over an uploaded report file: each call reads just enough input for one record.
+ */
+public interface ReportRecordReader extends Closeable {
+    /**
+     * @return the next record, or null at the end of the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    AddReportDTO next() throws IOException;
+}
@@ -0,0 +1,81 @@
+package com.kpi.testing.util.imports;
+
+import com.kpi.testing.dto.AddReportDTO;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads {@code <report><name/><description/></report>} elements at any depth with StAX.
+ * DTDs and external entities are disabled.
+ */
+public class XmlReportReader implements ReportRecordReader {
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    private final XMLStreamReader reader;
+
+    public XmlReportReader(InputStream in) throws IOException {
+        try {
+            reader = FACTORY.createXMLStreamReader(in, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public AddReportDTO next() throws IOException {
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("report")) {
+                    return readReport();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw malformed(e);
+        }
+    }
+
+    private AddReportDTO readReport() throws XMLStreamException {
+        AddReportDTO report = new AddReportDTO();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 1 && reader.getLocalName().equals("name")) {
+                    report.setName(reader.getElementText());
+                } else if (depth == 1 && reader.getLocalName().equals("description")) {
+                    report.setDescription(reader.getElementText());
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return report;
+    }
+
+    private static IOException malformed(XMLStreamException e) {
+        return new IOException("Malformed XML: " + e.getMessage(), e);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw malformed(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kpi.testing.util.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-code conversion from a source object to a new target object.
+ */
+@FunctionalInterface
+public interface Mapper<S, T> {
+    T map(S source);
+
+    default List<T> mapAll(List<? extends S> sources) {
+        List<T> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(map(source));
+        }
+        return result;
+    }
+}
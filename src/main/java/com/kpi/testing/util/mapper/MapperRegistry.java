@@ -0,0 +1,88 @@
+package com.kpi.testing.util.mapper;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.dto.ReportForInspectorReportTableDTO;
+import com.kpi.testing.dto.ReportForUserReportTableDTO;
+import com.kpi.testing.dto.UpdateReportDTO;
+import com.kpi.testing.entity.Report;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written entity/DTO mappers looked up by source and target class, replacing the reflective
+ * ModelMapper on the request path. Like the old STRICT, skip-null configuration, only properties
+ * with the same name are copied and null source values leave the target's default in place.
+ */
+public class MapperRegistry {
+    private final Map<Class<?>, Map<Class<?>, Mapper<?, ?>>> mappers = new HashMap<>();
+
+    private static class LazyHolder {
+        static final MapperRegistry INSTANCE = new MapperRegistry();
+    }
+
+    public static MapperRegistry getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private MapperRegistry() {
+        register(Report.class, ReportForUserReportTableDTO.class, report -> {
+            ReportForUserReportTableDTO dto = new ReportForUserReportTableDTO();
+            if (report.getId() != null) dto.setId(report.getId());
+            if (report.getName() != null) dto.setName(report.getName());
+            if (report.getDescription() != null) dto.setDescription(report.getDescription());
+            if (report.getStatus() != null) dto.setStatus(report.getStatus());
+            if (report.getCreated() != null) dto.setCreated(report.getCreated());
+            if (report.getUpdated() != null) dto.setUpdated(report.getUpdated());
+            if (report.getDeclineReason() != null) dto.setDeclineReason(report.getDeclineReason());
+            return dto;
+        });
+        register(Report.class, ReportForInspectorReportTableDTO.class, report -> {
+            ReportForInspectorReportTableDTO dto = new ReportForInspectorReportTableDTO();
+            if (report.getId() != null) dto.setId(report.getId());
+            if (report.getName() != null) dto.setName(report.getName());
+            if (report.getCreated() != null) dto.setCreated(report.getCreated());
+            if (report.getUpdated() != null) dto.setUpdated(report.getUpdated());
+            if (report.getDescription() != null) dto.setDescription(report.getDescription());
+            if (report.getOwner() != null) dto.setOwnerId(report.getOwner().getId());
+            return dto;
+        });
+        register(Report.class, UpdateReportDTO.class, report -> {
+            UpdateReportDTO dto = new UpdateReportDTO();
+            if (report.getId() != null) dto.setId(report.getId());
+            if (report.getName() != null) dto.setName(report.getName());
+            if (report.getDescription() != null) dto.setDescription(report.getDescription());
+            if (report.getDeclineReason() != null) dto.setDeclineReason(report.getDeclineReason());
+            return dto;
+        });
+        register(AddReportDTO.class, Report.class, dto -> {
+            Report report = new Report();
+            if (dto.getName() != null) report.setName(dto.getName());
+            if (dto.getDescription() != null) report.setDescription(dto.getDescription());
+            return report;
+        });
+    }
+
+    public <S, T> void register(Class<S> source, Class<T> target, Mapper<S, T> mapper) {
+        mappers.computeIfAbsent(source, key -> new HashMap<>()).put(target, mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <S, T> Mapper<S, T> get(Class<S> source, Class<T> target) {
+        Mapper<S, T> mapper = (Mapper<S, T>) mappers.getOrDefault(source, new HashMap<>()).get(target);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No mapper from " + source.getName() + " to " + target.getName());
+        }
+        return mapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <S, T> T map(S source, Class<T> target) {
+        return get((Class<S>) source.getClass(), target).map(source);
+    }
+
+    public <S, T> List<T> mapAll(List<S> sources, Class<S> source, Class<T> target) {
+        return get(source, target).mapAll(sources);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kpi.testing.validators;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.exceptions.InvalidReportException;
+
+import java.nio.charset.StandardCharsets;
+
+public class NewReportValidator {
+    private static final int MAX_NAME_LENGTH = 255;
+    /**
+     * {@code reports.description} is a TEXT column, which holds 65535 bytes.
+     */
+    private static final int MAX_DESCRIPTION_BYTES = 65535;
+
+    public void validate(AddReportDTO report) throws InvalidReportException {
+        if (report.getName() == null || report.getName().trim().isEmpty()) {
+            throw new InvalidReportException("name is empty");
+        }
+        if (report.getName().length() > MAX_NAME_LENGTH) {
+            throw new InvalidReportException("name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (report.getDescription() == null || report.getDescription().trim().isEmpty()) {
+            throw new InvalidReportException("description is empty");
+        }
+        if (report.getDescription().getBytes(StandardCharsets.UTF_8).length > MAX_DESCRIPTION_BYTES) {
+            throw new InvalidReportException("description is longer than " + MAX_DESCRIPTION_BYTES + " bytes");
+        }
+    }
+}
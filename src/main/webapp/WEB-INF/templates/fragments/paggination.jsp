@@ -15,7 +15,13 @@
         <ul class="pagination">
             <c:forEach var = "i" begin = "1" end = "${requestScope.totalPages}">
                 <li class="page-item">
-                    <a class="page-link" href="?page=${i - 1}">
+                    <c:url var="pageUrl" value="">
+                        <c:param name="page" value="${i - 1}"/>
+                        <c:if test="${not empty param.search}">
+                            <c:param name="search" value="${param.search}"/>
+                        </c:if>
+                    </c:url>
+                    <a class="page-link" href="${pageUrl}">
                             ${i}
                     </a>
                 </li>
@@ -23,5 +29,38 @@
         </ul>
     </nav>
 </c:if>
+<c:if test="${requestScope.previousCursor != null || requestScope.nextCursor != null}">
+    <nav style="display: flex; justify-content: center"
+         aria-label="Cursor navigation">
+        <ul class="pagination">
+            <c:if test="${requestScope.previousCursor != null}">
+                <li class="page-item">
+                    <c:url var="previousUrl" value="">
+                        <c:param name="cursor" value="${requestScope.previousCursor}"/>
+                        <c:if test="${not empty param.search}">
+                            <c:param name="search" value="${param.search}"/>
+                        </c:if>
+                    </c:url>
+                    <a class="page-link" href="${previousUrl}">
+                        <fmt:message key="string.previous" />
+                    </a>
+                </li>
+            </c:if>
+            <c:if test="${requestScope.nextCursor != null}">
+                <li class="page-item">
+                    <c:url var="nextUrl" value="">
+                        <c:param name="cursor" value="${requestScope.nextCursor}"/>
+                        <c:if test="${not empty param.search}">
+                            <c:param name="search" value="${param.search}"/>
+                        </c:if>
+                    </c:url>
+                    <a class="page-link" href="${nextUrl}">
+                        <fmt:message key="string.next" />
+                    </a>
+                </li>
+            </c:if>
+        </ul>
+    </nav>
+</c:if>
 </body>
 </html>
@@ -0,0 +1,29 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ page pageEncoding="UTF-8" %>
+<fmt:setLocale value="${sessionScope.locale}"/>
+<fmt:setBundle basename="messages"/>
+<c:if test="${not empty requestScope.statusCounts}">
+    <div id="statusCounts" class="d-flex mb-3">
+        <c:forEach items="${requestScope.statusCounts}" var="count">
+            <c:choose>
+                <c:when test="${count.key == 'ACCEPTED'}">
+                    <span class="badge badge-pill badge-success mr-2">
+                        <fmt:message key="string.accepted" />: ${count.value}
+                    </span>
+                </c:when>
+                <c:when test="${count.key == 'NOT_ACCEPTED'}">
+                    <span class="badge badge-pill badge-danger mr-2">
+                        <fmt:message key="string.not.accepted" />: ${count.value}
+                    </span>
+                </c:when>
+                <c:when test="${count.key == 'QUEUE'}">
+                    <span class="badge badge-pill badge-warning mr-2">
+                        <fmt:message key="string.queue" />: ${count.value}
+                    </span>
+                </c:when>
+            </c:choose>
+        </c:forEach>
+    </div>
+</c:if>
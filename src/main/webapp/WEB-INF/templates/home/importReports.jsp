@@ -0,0 +1,55 @@
+<!DOCTYPE html>
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ page pageEncoding="UTF-8" %>
+<fmt:setLocale value="${sessionScope.locale}"/>
+<fmt:setBundle basename="messages"/>
+
+<html lang="en">
+<head>
+    <meta charset="UTF-8">
+    <title>
+        <fmt:message key="string.import.title"/>
+    </title>
+    <meta name="viewport" content="width=device-width, initial-scale=1, shrink-to-fit=no">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/login.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/userPage.css">
+
+
+
+    <!-- Bootstrap CSS -->
+    <link rel="stylesheet" href="https://maxcdn.bootstrapcdn.com/bootstrap/4.0.0/css/bootstrap.min.css"
+          integrity="sha384-Gn5384xqQ1aoWXA+058RXPxPg6fy4IWvTNh0E263XmFcJlSAwiGgFAW/dAiS6JXm" crossorigin="anonymous">
+</head>
+<body>
+<%@ include file="../fragments/navbar.jsp" %>
+<div class="content">
+    <form method="post" enctype="multipart/form-data" action="${pageContext.request.contextPath}/app/userHome/import">
+        <input id="csrfToken" name="csrfToken" type="hidden" value="${sessionScope.csrfToken}" />
+        <div class="form-group">
+            <label for="file">
+                <fmt:message key="string.import.file"/>
+            </label>
+            <input name="file" type="file" required class="form-control-file" id="file"
+                   accept=".xml,.json,application/xml,text/xml,application/json">
+        </div>
+        <button type="submit" class="btn btn-primary">
+            <fmt:message key="string.submit"/>
+        </button>
+    </form>
+</div>
+
+<%@ include file="../fragments/footer.jsp" %>
+
+<script src="https://code.jquery.com/jquery-3.2.1.slim.min.js"
+        integrity="sha384-KJ3o2DKtIkvYIK3UENzmM7KCkRr/rE9/Qpg6aAZGJwFDMVNA/GpGFF93hXpG5KkN"
+        crossorigin="anonymous"></script>
+<script src="https://cdnjs.cloudflare.com/ajax/libs/popper.js/1.12.9/umd/popper.min.js"
+        integrity="sha384-ApNbgh9B+Y1QKtv3Rn7W3mgPxhU9K/ScQsAP7hUibX39j7fakFPskvXusvfa0b4Q"
+        crossorigin="anonymous"></script>
+<script src="https://maxcdn.bootstrapcdn.com/bootstrap/4.0.0/js/bootstrap.min.js"
+        integrity="sha384-JZR6Spejh4U02d8jOt6vLEHfe/JQGiRRSQQxSfFWpi1MquVdAyjUar5+76PVCmYl"
+        crossorigin="anonymous"></script>
+</body>
+</html>
\ No newline at end of file
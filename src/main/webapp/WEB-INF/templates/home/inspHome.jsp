@@ -32,6 +32,7 @@
 <%@ include file="../fragments/navbar.jsp" %>
 
 <div class="content">
+    <%@ include file="../fragments/statusCounts.jsp" %>
     <%@ include file="../fragments/search.jsp" %>
     <table class="table-condensed table table-hover" style="border-collapse:collapse;">
         <caption>
@@ -46,6 +47,9 @@
             <td>
                 <fmt:message key="string.name"/>
             </td>
+            <td>
+                <fmt:message key="string.owner"/>
+            </td>
             <td>
                 <fmt:message key="string.created"/>
             </td>
@@ -66,6 +70,9 @@
             <td>
                     ${report.getName()}
             </td>
+            <td>
+                    ${requestScope.owners[report.getId()].value.username}
+            </td>
             <td>
                     ${report.getCreated()}
             </td>
@@ -89,7 +96,7 @@
             </td>
         </tr>
         <tr>
-            <td colspan="6" class="hiddenRow">
+            <td colspan="7" class="hiddenRow">
                 <div class="accordian-body collapse" id="${report.getId()}">
                         ${report.getDescription()}
                 </div>
@@ -98,6 +105,16 @@
         </c:forEach>
         <tbody>
     </table>
+    <a href="${pageContext.request.contextPath}/app/inspHome/export?format=csv">
+        <button type="button" class="btn btn-outline-secondary btn-lg">
+            <fmt:message key="string.export.csv" />
+        </button>
+    </a>
+    <a href="${pageContext.request.contextPath}/app/inspHome/export?format=json">
+        <button type="button" class="btn btn-outline-secondary btn-lg">
+            <fmt:message key="string.export.json" />
+        </button>
+    </a>
 
     <%@ include file="../fragments/paggination.jsp" %>
 </div>
@@ -32,6 +32,7 @@
 <body>
 <%@ include file="../fragments/navbar.jsp" %>
 <div class="content">
+    <%@ include file="../fragments/statusCounts.jsp" %>
     <%@ include file="../fragments/search.jsp" %>
 
     <table class="table-condensed table table-hover" style="border-collapse:collapse;">
@@ -141,6 +142,21 @@
             <fmt:message key="string.add" />
         </button>
     </a>
+    <a href="${pageContext.request.contextPath}/app/userHome/import">
+        <button type="button" class="btn btn-outline-success btn-lg">
+            <fmt:message key="string.import" />
+        </button>
+    </a>
+    <a href="${pageContext.request.contextPath}/app/userHome/export?format=csv">
+        <button type="button" class="btn btn-outline-secondary btn-lg">
+            <fmt:message key="string.export.csv" />
+        </button>
+    </a>
+    <a href="${pageContext.request.contextPath}/app/userHome/export?format=json">
+        <button type="button" class="btn btn-outline-secondary btn-lg">
+            <fmt:message key="string.export.json" />
+        </button>
+    </a>
 
     <%@ include file="../fragments/paggination.jsp" %>
 
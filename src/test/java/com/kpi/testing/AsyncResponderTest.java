@@ -0,0 +1,80 @@
+package com.kpi.testing;
+
+import com.kpi.testing.controller.AsyncResponder;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+public class AsyncResponderTest {
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private AsyncContext async;
+
+    public AsyncResponderTest() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void withoutAsyncSupportCompletesOnTheCallingThread() throws IOException, ServletException {
+        when(request.isAsyncSupported()).thenReturn(false);
+        Thread caller = Thread.currentThread();
+        Thread[] completedOn = new Thread[1];
+        Object[] completed = new Object[2];
+        AsyncResponder.await(request, response, CompletableFuture.completedFuture("hash"), 1, (result, error) -> {
+            completedOn[0] = Thread.currentThread();
+            completed[0] = result;
+            completed[1] = error;
+        });
+        Assert.assertSame(caller, completedOn[0]);
+        Assert.assertEquals("hash", completed[0]);
+        Assert.assertNull(completed[1]);
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    public void withoutAsyncSupportPassesTheCauseOfAFailure() throws IOException, ServletException {
+        when(request.isAsyncSupported()).thenReturn(false);
+        IllegalStateException failure = new IllegalStateException("hashing failed");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        Throwable[] completed = new Throwable[1];
+        AsyncResponder.await(request, response, future, 1, (result, error) -> completed[0] = error);
+        Assert.assertSame(failure, completed[0]);
+    }
+
+    @Test
+    public void timeoutAnswersServiceUnavailableAndSkipsTheCompletion() throws IOException, ServletException {
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync()).thenReturn(async);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        boolean[] completed = new boolean[1];
+        AsyncResponder.await(request, response, future, 3, (result, error) -> completed[0] = true);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).setTimeout(anyLong());
+        verify(async).addListener(listener.capture());
+
+        listener.getValue().onTimeout(null);
+        future.complete("late");
+
+        verify(response).setHeader("Retry-After", "3");
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(async).complete();
+        verify(async, never()).start(any(Runnable.class));
+        Assert.assertFalse(completed[0]);
+    }
+}
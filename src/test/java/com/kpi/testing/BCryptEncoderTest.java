@@ -0,0 +1,26 @@
+package com.kpi.testing;
+
+import com.kpi.testing.util.BCryptEncoder;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class BCryptEncoderTest {
+
+    @Test
+    public void encodesWithConfiguredCost() {
+        BCryptEncoder encoder = new BCryptEncoder(4);
+        String hash = encoder.encode("password");
+        Assert.assertTrue(hash.startsWith("$2a$04$"));
+        Assert.assertTrue(encoder.matches("password", hash));
+        Assert.assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    public void needsRehashOnlyBelowCurrentCost() {
+        String hash = new BCryptEncoder(4).encode("password");
+        Assert.assertTrue(new BCryptEncoder(5).needsRehash(hash));
+        Assert.assertFalse(new BCryptEncoder(4).needsRehash(hash));
+        Assert.assertFalse(new BCryptEncoder(4).needsRehash("not a hash"));
+        Assert.assertFalse(new BCryptEncoder(4).needsRehash(null));
+    }
+}
@@ -0,0 +1,41 @@
+package com.kpi.testing;
+
+import com.kpi.testing.entity.User;
+import com.kpi.testing.util.BatchLoader;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class BatchLoaderTest {
+    private final List<Collection<Long>> calls = new ArrayList<>();
+    private final BatchLoader<User> loader = new BatchLoader<>(ids -> {
+        calls.add(new ArrayList<>(ids));
+        List<User> users = new ArrayList<>();
+        for (Long id : ids) {
+            if (id < 100) {
+                users.add(User.builder().id(id).username("user" + id).build());
+            }
+        }
+        return users;
+    }, User::getId);
+
+    @Test
+    public void resolvesRegisteredIdsInOneCall() {
+        BatchLoader<User>.Ref first = loader.load(1L);
+        BatchLoader<User>.Ref second = loader.load(2L);
+        BatchLoader<User>.Ref again = loader.load(1L);
+
+        Assert.assertEquals("user1", first.get().getUsername());
+        Assert.assertEquals("user2", second.get().getUsername());
+        Assert.assertEquals("user1", again.getValue().getUsername());
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(1L, 2L)), calls);
+    }
+
+    @Test
+    public void remembersMissingIds() {
+        Assert.assertFalse(loader.get(500L).isPresent());
+        Assert.assertFalse(loader.get(500L).isPresent());
+        Assert.assertEquals(1, calls.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.kpi.testing;
+
+import com.kpi.testing.util.BoundedCache;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BoundedCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final BoundedCache<Long, String> cache = new BoundedCache<>(2, 1000, now::get);
+
+    @Test
+    public void loadsOnceAndCountsHits() {
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertEquals("1", cache.get(1L, key -> String.valueOf(loads.incrementAndGet())));
+        Assert.assertEquals("1", cache.get(1L, key -> String.valueOf(loads.incrementAndGet())));
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L);
+        cache.put(3L, "c");
+        Assert.assertNull(cache.get(2L));
+        Assert.assertEquals("a", cache.get(1L));
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expiresAfterTtl() {
+        cache.put(1L, "a");
+        now.addAndGet(999_000_000L);
+        Assert.assertEquals("a", cache.get(1L));
+        now.addAndGet(1_000_000L);
+        Assert.assertNull(cache.get(1L));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidationDuringLoadIsNotCached() {
+        String loaded = cache.get(1L, key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+        Assert.assertEquals("stale", loaded);
+        Assert.assertNull(cache.get(1L));
+    }
+
+    @Test
+    public void getAllLoadsOnlyMissingKeysInOneCall() {
+        cache.put(1L, "a");
+        List<List<Long>> calls = new ArrayList<>();
+        Map<Long, String> values = cache.getAll(Arrays.asList(1L, 2L, 3L), missing -> {
+            calls.add(missing);
+            return Collections.singletonMap(2L, "b");
+        });
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(2L, 3L)), calls);
+        Assert.assertEquals("a", values.get(1L));
+        Assert.assertEquals("b", values.get(2L));
+        Assert.assertFalse(values.containsKey(3L));
+        Assert.assertEquals("b", cache.get(2L));
+    }
+}
@@ -0,0 +1,65 @@
+package com.kpi.testing;
+
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.service.assignment.AllInspectorsStrategy;
+import com.kpi.testing.service.assignment.InspectorLoad;
+import com.kpi.testing.service.assignment.LeastLoadedStrategy;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InspectorAssignmentTest {
+    private final User first = User.builder().id(1L).build();
+    private final User second = User.builder().id(2L).build();
+    private final User third = User.builder().id(3L).build();
+    private final List<User> inspectors = Arrays.asList(first, second, third);
+
+    @Test
+    public void leastLoadedPicksShortestQueues() {
+        InspectorLoad load = new InspectorLoad();
+        Map<Long, Integer> counts = new HashMap<>();
+        counts.put(1L, 5);
+        counts.put(3L, 2);
+        load.seed(counts);
+
+        List<User> picked = new LeastLoadedStrategy(2).assign(inspectors, load);
+
+        Assert.assertEquals(Arrays.asList(second, third), picked);
+    }
+
+    @Test
+    public void countersFollowQueueChanges() {
+        InspectorLoad load = new InspectorLoad();
+        LeastLoadedStrategy strategy = new LeastLoadedStrategy(1);
+
+        for (int i = 0; i < 6; i++) {
+            load.queued(strategy.assign(inspectors, load));
+        }
+        Assert.assertEquals(2, load.get(1L));
+        Assert.assertEquals(2, load.get(2L));
+        Assert.assertEquals(2, load.get(3L));
+
+        load.dequeued(Collections.singletonList(second));
+        load.dequeued(Collections.singletonList(second));
+        load.dequeued(Collections.singletonList(second));
+        Assert.assertEquals(0, load.get(2L));
+        Assert.assertEquals(Collections.singletonList(second), strategy.assign(inspectors, load));
+    }
+
+    @Test
+    public void reassignSkipsInspectorWhoDeclined() {
+        InspectorLoad load = new InspectorLoad();
+        Report report = Report.builder().inspectors(Collections.singletonList(first)).build();
+
+        Assert.assertEquals(Collections.singletonList(second),
+                new LeastLoadedStrategy(1).reassign(report, 1L, inspectors, load));
+        Assert.assertEquals(Collections.singletonList(first),
+                new AllInspectorsStrategy().reassign(report, 1L, inspectors, load));
+    }
+}
@@ -0,0 +1,28 @@
+package com.kpi.testing;
+
+import com.kpi.testing.util.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void countsAreCumulativeByUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(7));
+        histogram.record(TimeUnit.SECONDS.toNanos(30));
+
+        long[] counts = histogram.getCumulativeCounts();
+        Assert.assertEquals(LatencyHistogram.getBoundsSeconds().length + 1, counts.length);
+        Assert.assertEquals(2, counts[0]);
+        Assert.assertEquals(2, counts[2]);
+        Assert.assertEquals(3, counts[3]);
+        Assert.assertEquals(3, counts[counts.length - 2]);
+        Assert.assertEquals(4, counts[counts.length - 1]);
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(30_008_500), histogram.getSumNanos());
+    }
+}
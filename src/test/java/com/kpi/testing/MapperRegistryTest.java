@@ -0,0 +1,48 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.dto.ReportForInspectorReportTableDTO;
+import com.kpi.testing.dto.ReportForUserReportTableDTO;
+import com.kpi.testing.dto.UpdateReportDTO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.mapper.MapperRegistry;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+public class MapperRegistryTest {
+    private final MapperRegistry mappers = MapperRegistry.getInstance();
+    private final Report report = Report.builder()
+            .id(7L)
+            .name("Annual report")
+            .description("tax")
+            .status(ReportStatus.NOT_ACCEPTED)
+            .declineReason("wrong sum")
+            .created(LocalDate.of(2020, 3, 1))
+            .updated(LocalDate.of(2020, 3, 2))
+            .build();
+
+    @Test
+    public void reportDtosCopyMatchingProperties() {
+        Assert.assertEquals(new ReportForUserReportTableDTO(7L, "Annual report", "tax", ReportStatus.NOT_ACCEPTED,
+                        LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 2), "wrong sum"),
+                mappers.map(report, ReportForUserReportTableDTO.class));
+        Assert.assertEquals(new ReportForInspectorReportTableDTO(7L, "Annual report",
+                        LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 2), "tax"),
+                mappers.map(report, ReportForInspectorReportTableDTO.class));
+        Assert.assertEquals(new UpdateReportDTO(7L, "Annual report", "tax", "wrong sum"),
+                mappers.map(report, UpdateReportDTO.class));
+    }
+
+    @Test
+    public void nullsAreSkipped() {
+        report.setDeclineReason(null);
+        Assert.assertNull(mappers.map(report, ReportForUserReportTableDTO.class).getDeclineReason());
+        Report mapped = mappers.map(new AddReportDTO("name", null), Report.class);
+        Assert.assertEquals("name", mapped.getName());
+        Assert.assertNull(mapped.getDescription());
+        Assert.assertTrue(mapped.getInspectors().isEmpty());
+    }
+}
@@ -0,0 +1,33 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.exceptions.InvalidReportException;
+import com.kpi.testing.validators.NewReportValidator;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class NewReportValidatorTest {
+    private final NewReportValidator validator = new NewReportValidator();
+
+    @Test
+    public void descriptionMustFitTheColumn() throws InvalidReportException {
+        validator.validate(report(65535));
+        try {
+            validator.validate(report(65536));
+            Assert.fail("over-long description accepted");
+        } catch (InvalidReportException expected) {
+            Assert.assertTrue(expected.getMessage().startsWith("description is longer"));
+        }
+    }
+
+    private static AddReportDTO report(int descriptionLength) {
+        char[] description = new char[descriptionLength];
+        Arrays.fill(description, 'a');
+        AddReportDTO report = new AddReportDTO();
+        report.setName("name");
+        report.setDescription(new String(description));
+        return report;
+    }
+}
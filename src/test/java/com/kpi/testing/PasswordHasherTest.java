@@ -0,0 +1,74 @@
+package com.kpi.testing;
+
+import com.kpi.testing.util.PasswordHasher;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHasherTest {
+
+    @Test
+    public void rejectsAtOnceWhenTheQueueIsFull() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1, 1, 7);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch working = new CountDownLatch(1);
+        CompletableFuture<String> running = hasher.encode(new BlockingPassword(working, release));
+        Assert.assertTrue(working.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = hasher.encode("queued");
+        try {
+            hasher.encode("rejected");
+            Assert.fail("a full queue accepted the task");
+        } catch (RejectedExecutionException expected) {
+        } finally {
+            release.countDown();
+        }
+        running.get(30, TimeUnit.SECONDS);
+        queued.get(30, TimeUnit.SECONDS);
+        hasher.encode("accepted again").get(30, TimeUnit.SECONDS);
+        Assert.assertEquals(7, hasher.getRetryAfterSeconds());
+    }
+
+    /**
+     * Holds the only worker until released.
+     */
+    private static class BlockingPassword implements CharSequence {
+        private final String password = "blocking";
+        private final CountDownLatch working;
+        private final CountDownLatch release;
+
+        BlockingPassword(CountDownLatch working, CountDownLatch release) {
+            this.working = working;
+            this.release = release;
+        }
+
+        @Override
+        public String toString() {
+            working.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return password;
+        }
+
+        @Override
+        public int length() {
+            return password.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return password.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return password.subSequence(start, end);
+        }
+    }
+}
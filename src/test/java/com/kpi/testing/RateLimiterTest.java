@@ -0,0 +1,42 @@
+package com.kpi.testing;
+
+import com.kpi.testing.util.RateLimiter;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiter limiter = new RateLimiter(3, 60, now::get);
+
+    @Test
+    public void allowsBurstThenRejects() {
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(limiter.tryAcquire("10.0.0.1"));
+        }
+        Assert.assertFalse(limiter.tryAcquire("10.0.0.1"));
+        Assert.assertTrue(limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    public void refillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user@mail.com");
+        }
+        Assert.assertFalse(limiter.tryAcquire("user@mail.com"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assert.assertTrue(limiter.tryAcquire("user@mail.com"));
+        Assert.assertFalse(limiter.tryAcquire("user@mail.com"));
+    }
+
+    @Test
+    public void evictsFullBuckets() {
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdle(now.get());
+        Assert.assertEquals(0, limiter.size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dao.ReportDAO;
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.User;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.service.ReportCounters;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+public class ReportCountersTest {
+    private final User owner = User.builder().id(1L).build();
+    private final User first = User.builder().id(10L).build();
+    private final User second = User.builder().id(11L).build();
+    @Mock
+    private ReportDAO reportDAO;
+
+    public ReportCountersTest() {
+        MockitoAnnotations.initMocks(this);
+        when(reportDAO.countByOwnerGroupByStatus()).thenReturn(counts(1L, ReportStatus.QUEUE, 2L));
+        when(reportDAO.countByInspectorGroupByStatus()).thenReturn(counts(10L, ReportStatus.QUEUE, 2L));
+    }
+
+    @Test
+    public void createdCountsForOwnerAndInspectors() {
+        ReportCounters counters = new ReportCounters(reportDAO);
+        counters.created(report(ReportStatus.QUEUE, first, second));
+
+        Assert.assertEquals(Long.valueOf(3), counters.getByOwner(1L).get("QUEUE"));
+        Assert.assertEquals(3, counters.getInspectorCount(10L, ReportStatus.QUEUE));
+        Assert.assertEquals(1, counters.getInspectorCount(11L, ReportStatus.QUEUE));
+        Assert.assertEquals(3, counters.getOwnerTotal(1L));
+    }
+
+    @Test
+    public void movedUncountsPreviousInspectorsAndCountsCurrentOnes() {
+        ReportCounters counters = new ReportCounters(reportDAO);
+        counters.moved(report(ReportStatus.ACCEPTED, second), ReportStatus.QUEUE, Arrays.asList(first));
+
+        Assert.assertEquals(Long.valueOf(1), counters.getByOwner(1L).get("QUEUE"));
+        Assert.assertEquals(Long.valueOf(1), counters.getByOwner(1L).get("ACCEPTED"));
+        Assert.assertEquals(1, counters.getInspectorCount(10L, ReportStatus.QUEUE));
+        Assert.assertEquals(0, counters.getInspectorCount(10L, ReportStatus.ACCEPTED));
+        Assert.assertEquals(1, counters.getInspectorCount(11L, ReportStatus.ACCEPTED));
+        Assert.assertEquals(2, counters.getOwnerTotal(1L));
+    }
+
+    @Test
+    public void driftIsVisibleUntilReseeded() {
+        ReportCounters counters = new ReportCounters(reportDAO);
+        counters.moved(report(ReportStatus.ACCEPTED), ReportStatus.NOT_ACCEPTED, Collections.emptyList());
+        Assert.assertEquals(Long.valueOf(-1), counters.getByOwner(1L).get("NOT_ACCEPTED"));
+
+        when(reportDAO.countByOwnerGroupByStatus()).thenReturn(counts(1L, ReportStatus.ACCEPTED, 3L));
+        counters.reseed();
+        Assert.assertEquals(Long.valueOf(0), counters.getByOwner(1L).get("NOT_ACCEPTED"));
+        Assert.assertEquals(Long.valueOf(0), counters.getByOwner(1L).get("QUEUE"));
+        Assert.assertEquals(Long.valueOf(3), counters.getByOwner(1L).get("ACCEPTED"));
+    }
+
+    @Test
+    public void withoutDaoNothingIsCounted() {
+        ReportCounters counters = new ReportCounters(null);
+        counters.created(report(ReportStatus.QUEUE, first));
+        Assert.assertFalse(counters.isEnabled());
+        Assert.assertEquals(0, counters.getOwnerTotal(1L));
+    }
+
+    private Report report(ReportStatus status, User... inspectors) {
+        return Report.builder()
+                .id(5L)
+                .status(status)
+                .owner(owner)
+                .inspectors(Arrays.asList(inspectors))
+                .build();
+    }
+
+    private static Map<Long, Map<ReportStatus, Long>> counts(Long id, ReportStatus status, Long count) {
+        Map<ReportStatus, Long> perStatus = new EnumMap<>(ReportStatus.class);
+        perStatus.put(status, count);
+        Map<Long, Map<ReportStatus, Long>> counts = new HashMap<>();
+        counts.put(id, perStatus);
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dao.ReportCursor;
+import com.kpi.testing.entity.Report;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+public class ReportCursorTest {
+    private final Report report = Report.builder()
+            .id(42L)
+            .updated(LocalDate.of(2020, 2, 29))
+            .build();
+
+    @Test
+    public void afterRoundTrips() {
+        ReportCursor cursor = ReportCursor.decode(ReportCursor.after(report).encode());
+        Assert.assertEquals(LocalDate.of(2020, 2, 29), cursor.getUpdated());
+        Assert.assertEquals(Long.valueOf(42), cursor.getId());
+        Assert.assertFalse(cursor.isBackward());
+    }
+
+    @Test
+    public void beforeRoundTrips() {
+        ReportCursor cursor = ReportCursor.decode(ReportCursor.before(report).encode());
+        Assert.assertEquals(LocalDate.of(2020, 2, 29), cursor.getUpdated());
+        Assert.assertEquals(Long.valueOf(42), cursor.getId());
+        Assert.assertTrue(cursor.isBackward());
+    }
+
+    @Test
+    public void encodingIsUrlSafe() {
+        String encoded = ReportCursor.before(report).encode();
+        Assert.assertTrue(encoded, encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    public void malformedCursorsAreRejected() {
+        assertMalformed("");
+        assertMalformed("not base64!");
+        assertMalformed(encode("n|2020-01-01"));
+        assertMalformed(encode("n|2020-01-01|1|2"));
+        assertMalformed(encode("x|2020-01-01|1"));
+        assertMalformed(encode("n|2020-13-01|1"));
+        assertMalformed(encode("n||1"));
+        assertMalformed(encode("p|2020-01-01|one"));
+        assertMalformed(encode("n|2020-01-01|"));
+    }
+
+    private static void assertMalformed(String cursor) {
+        try {
+            ReportCursor.decode(cursor);
+            Assert.fail("accepted " + cursor);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.kpi.testing;
+
+import com.kpi.testing.entity.Report;
+import com.kpi.testing.entity.enums.ReportStatus;
+import com.kpi.testing.util.export.ExportFormat;
+import com.kpi.testing.util.export.ReportExporter;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+public class ReportExporterTest {
+    private final Report report = Report.builder()
+            .id(7L)
+            .name("Q1, \"final\"")
+            .description("line1\nline2")
+            .status(ReportStatus.QUEUE)
+            .created(LocalDate.of(2020, 1, 2))
+            .updated(LocalDate.of(2020, 1, 3))
+            .build();
+
+    @Test
+    public void csvQuotesSpecialCharacters() throws IOException {
+        Assert.assertEquals("id,name,description,status,created,updated,decline_reason\r\n"
+                        + "7,\"Q1, \"\"final\"\"\",\"line1\nline2\",QUEUE,2020-01-02,2020-01-03,\r\n",
+                export(ExportFormat.of("csv")));
+    }
+
+    @Test
+    public void csvDefusesFormulas() throws IOException {
+        Report formulas = Report.builder()
+                .id(8L)
+                .name("=1+2")
+                .description("-2, @SUM(A1)")
+                .status(ReportStatus.NOT_ACCEPTED)
+                .declineReason("@SUM(A1)")
+                .build();
+        StringWriter out = new StringWriter();
+        ReportExporter exporter = ExportFormat.of("csv").open(out);
+        exporter.write(formulas);
+        Assert.assertEquals("8,'=1+2,\"'-2, @SUM(A1)\",NOT_ACCEPTED,,,'@SUM(A1)\r\n", out.toString());
+    }
+
+    @Test
+    public void jsonEscapesStrings() throws IOException {
+        Assert.assertEquals("[\n{\"id\":7,\"name\":\"Q1, \\\"final\\\"\",\"description\":\"line1\\nline2\","
+                        + "\"status\":\"QUEUE\",\"created\":\"2020-01-02\",\"updated\":\"2020-01-03\",\"declineReason\":null}\n]\n",
+                export(ExportFormat.of("JSON")));
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        StringWriter out = new StringWriter();
+        ReportExporter exporter = format.open(out);
+        exporter.begin();
+        exporter.write(report);
+        exporter.end();
+        return out.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.service.ReportJournal;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class ReportJournalTest {
+
+    @Test
+    public void uncommittedEntriesAreReplayed() throws IOException {
+        Path file = Files.createTempDirectory("journal").resolve("reports.journal");
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("first", "one"), 1L);
+            long second = journal.append(report("second", "two"), 1L);
+            journal.append(report("third", "three \u0437\u0432\u0456\u0442"), 2L);
+            journal.sync();
+            journal.commit(second);
+        }
+        try (ReportJournal journal = new ReportJournal(file)) {
+            List<ReportJournal.Entry> pending = journal.getPending();
+            Assert.assertEquals(1, pending.size());
+            Assert.assertEquals(2L, pending.get(0).getOwnerId());
+            Assert.assertEquals("third", pending.get(0).getReport().getName());
+            Assert.assertEquals("three \u0437\u0432\u0456\u0442", pending.get(0).getReport().getDescription());
+        }
+    }
+
+    @Test
+    public void journalIsEmptiedOnceEverythingIsStored() throws IOException {
+        Path file = Files.createTempDirectory("journal").resolve("reports.journal");
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("first", "one"), 1L);
+            journal.commit(journal.append(report("second", "two"), 1L));
+        }
+        Assert.assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    public void tornEntryIsSkipped() throws IOException {
+        Path file = Files.createTempDirectory("journal").resolve("reports.journal");
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("first", "one"), 1L);
+            journal.sync();
+        }
+        Files.write(file, "A 2 1 c2Vjb25k".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        try (ReportJournal journal = new ReportJournal(file)) {
+            Assert.assertEquals(1, journal.getPending().size());
+            Assert.assertEquals("first", journal.getPending().get(0).getReport().getName());
+        }
+    }
+
+    @Test
+    public void entryAppendedAfterTornLineSurvivesReplay() throws IOException {
+        Path file = Files.createTempDirectory("journal").resolve("reports.journal");
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("first", "one"), 1L);
+            journal.sync();
+        }
+        Files.write(file, "A 2 1 c2Vjb25k".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("third", "three"), 1L);
+            journal.sync();
+        }
+        try (ReportJournal journal = new ReportJournal(file)) {
+            List<ReportJournal.Entry> pending = journal.getPending();
+            Assert.assertEquals(2, pending.size());
+            Assert.assertEquals("first", pending.get(0).getReport().getName());
+            Assert.assertEquals("third", pending.get(1).getReport().getName());
+        }
+    }
+
+    @Test
+    public void rejectedEntryIsKeptAside() throws IOException {
+        Path file = Files.createTempDirectory("journal").resolve("reports.journal");
+        try (ReportJournal journal = new ReportJournal(file)) {
+            journal.append(report("bad", "one"), 1L);
+            journal.sync();
+        }
+        try (ReportJournal journal = new ReportJournal(file)) {
+            ReportJournal.Entry entry = journal.getPending().get(0);
+            journal.reject(entry);
+            journal.commit(entry.getSequence());
+        }
+        try (ReportJournal journal = new ReportJournal(file)) {
+            Assert.assertTrue(journal.getPending().isEmpty());
+        }
+        try (ReportJournal rejected = new ReportJournal(file.resolveSibling("reports.journal.rejected"))) {
+            Assert.assertEquals("bad", rejected.getPending().get(0).getReport().getName());
+        }
+    }
+
+    private static AddReportDTO report(String name, String description) {
+        AddReportDTO report = new AddReportDTO();
+        report.setName(name);
+        report.setDescription(description);
+        return report;
+    }
+}
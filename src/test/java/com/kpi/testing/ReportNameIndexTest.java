@@ -0,0 +1,72 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dao.impl.ReportNameIndex;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+public class ReportNameIndexTest {
+    private final ReportNameIndex index = new ReportNameIndex();
+
+    @BeforeEach
+    public void fillIndex() {
+        index.rebuild(Arrays.asList(
+                new ReportNameIndex.Entry(1L, "Annual Tax Report", 1L, Arrays.asList(2L, 3L)),
+                new ReportNameIndex.Entry(2L, "quarterly report", 1L, Collections.singletonList(2L)),
+                new ReportNameIndex.Entry(3L, "Annual summary", 4L, Collections.singletonList(3L))));
+    }
+
+    @Test
+    public void searchByOwnerIsScopedAndCaseInsensitive() {
+        Assert.assertEquals(Optional.of(new HashSet<>(Arrays.asList(1L, 2L))), index.searchByOwner(1L, "REPORT"));
+        Assert.assertEquals(Optional.of(Collections.singleton(1L)), index.searchByOwner(1L, "annual"));
+        Assert.assertEquals(Optional.of(Collections.singleton(3L)), index.searchByOwner(4L, "annual"));
+    }
+
+    @Test
+    public void matchingIgnoresAccents() {
+        index.put(4L, "Caf\u00e9 r\u00e9sum\u00e9", 1L, Collections.emptyList());
+        index.put(5L, "\u0417\u0432\u0456\u0442 \u0437\u0430 \u0442\u0440\u0430\u0432\u0435\u043d\u044c", 1L, Collections.emptyList());
+        Assert.assertEquals(Optional.of(Collections.singleton(4L)), index.searchByOwner(1L, "resume"));
+        Assert.assertEquals(Optional.of(Collections.singleton(4L)), index.searchByOwner(1L, "CAFE\u0301"));
+        Assert.assertEquals(Optional.of(Collections.singleton(4L)), index.searchByOwner(1L, "\u00e9s"));
+        Assert.assertEquals(Optional.of(Collections.singleton(5L)), index.searchByOwner(1L, "\u0437\u0432\u0456\u0442"));
+    }
+
+    @Test
+    public void searchByInspector() {
+        Assert.assertEquals(Optional.of(new HashSet<>(Arrays.asList(1L, 3L))), index.searchByInspector(3L, "annual"));
+        Assert.assertEquals(Optional.of(Collections.emptySet()), index.searchByInspector(2L, "summary"));
+    }
+
+    @Test
+    public void shortTermsAndMissingGrams() {
+        Assert.assertEquals(Optional.of(Collections.singleton(2L)), index.searchByOwner(1L, "ly"));
+        Assert.assertEquals(Optional.of(Collections.emptySet()), index.searchByOwner(1L, "xyz"));
+    }
+
+    @Test
+    public void wildcardsFallBackToLike() {
+        Assert.assertFalse(index.searchByOwner(1L, "rep_rt").isPresent());
+        Assert.assertTrue(ReportNameIndex.isMatchAll("_"));
+        Assert.assertFalse(ReportNameIndex.isMatchAll("a_"));
+    }
+
+    @Test
+    public void updatesKeepOwnerAndReplaceGrams() {
+        index.put(2L, "monthly statement", null, Collections.emptyList());
+        Set<Long> expected = Collections.singleton(2L);
+        Assert.assertEquals(Optional.of(expected), index.searchByOwner(1L, "statement"));
+        Assert.assertEquals(Optional.of(Collections.singleton(1L)), index.searchByOwner(1L, "report"));
+        Assert.assertEquals(Optional.of(Collections.singleton(1L)), index.searchByInspector(2L, "t"));
+
+        index.remove(1L);
+        Assert.assertEquals(Optional.of(Collections.emptySet()), index.searchByOwner(1L, "report"));
+    }
+}
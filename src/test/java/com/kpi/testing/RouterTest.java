@@ -0,0 +1,56 @@
+package com.kpi.testing;
+
+import com.kpi.testing.controller.Router;
+import com.kpi.testing.controller.command.Command;
+import com.kpi.testing.controller.command.IdCommand;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class RouterTest {
+    private final Command error = mock(Command.class);
+    private final Command home = mock(Command.class);
+    private final IdCommand update = mock(IdCommand.class);
+    private final IdCommand change = mock(IdCommand.class);
+    private final Router router = new Router(error)
+            .add("userHome", home)
+            .add("userHome/update/{id}", update)
+            .add("userHome/change/{id}", change);
+
+    @Test
+    public void literalRoute() {
+        Router.Match match = router.route("userHome");
+        Assert.assertSame(home, match.getCommand());
+        Assert.assertNull(match.getId());
+    }
+
+    @Test
+    public void parameterizedRouteExtractsId() {
+        Router.Match match = router.route("userHome/update/42");
+        Assert.assertSame(update, match.getCommand());
+        Assert.assertEquals(Long.valueOf(42), match.getId());
+        Assert.assertSame(change, router.route("userHome/change/7").getCommand());
+    }
+
+    @Test
+    public void unknownOrMalformedRoutesFallBack() {
+        Assert.assertSame(error, router.route("userHome/update/").getCommand());
+        Assert.assertSame(error, router.route("userHome/update/abc").getCommand());
+        Assert.assertSame(error, router.route("userHome/update/1/2").getCommand());
+        Assert.assertSame(error, router.route("nothing").getCommand());
+    }
+
+    @Test
+    public void pathIsTakenAfterLastAppSegment() {
+        Assert.assertEquals("userHome/update/3", Router.path("/testing/app/userHome/update/3"));
+        Assert.assertEquals("index", Router.path("/app/index"));
+    }
+
+    @Test
+    public void templateReplacesIdSegments() {
+        Assert.assertEquals("userHome/update/{id}", Router.template("userHome/update/42"));
+        Assert.assertEquals("userHome/update/12a", Router.template("userHome/update/12a"));
+        Assert.assertEquals("userHome", Router.template("userHome"));
+    }
+}
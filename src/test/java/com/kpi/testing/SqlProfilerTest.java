@@ -0,0 +1,35 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dao.impl.SqlProfiler;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class SqlProfilerTest {
+
+    @Test
+    public void literalsBecomePlaceholders() {
+        Assert.assertEquals("SELECT * FROM report WHERE name = ? AND id > ? AND tax = ?",
+                SqlProfiler.doNormalize("SELECT * FROM report WHERE name = 'it''s' AND id > 42 AND tax = 3.5"));
+    }
+
+    @Test
+    public void identifiersWithDigitsAreKept() {
+        Assert.assertEquals("SELECT u.id FROM user u JOIN report r2 ON r2.owner_id = u.id",
+                SqlProfiler.doNormalize("SELECT u.id FROM user u JOIN report r2 ON r2.owner_id = u.id"));
+    }
+
+    @Test
+    public void inListsOfAnyLengthCollapse() {
+        String expected = "SELECT * FROM user WHERE id IN (?...)";
+        Assert.assertEquals(expected, SqlProfiler.doNormalize("SELECT * FROM user WHERE id IN (?, ?)"));
+        Assert.assertEquals(expected, SqlProfiler.doNormalize("SELECT * FROM user WHERE id IN (1,2,3,4)"));
+        Assert.assertEquals("SELECT * FROM user WHERE id IN (?)",
+                SqlProfiler.doNormalize("SELECT * FROM user WHERE id IN (?)"));
+    }
+
+    @Test
+    public void whitespaceIsCollapsed() {
+        Assert.assertEquals("SELECT id FROM report WHERE status = ?",
+                SqlProfiler.doNormalize("  SELECT id\n\tFROM   report\r\n WHERE status = ?  "));
+    }
+}
@@ -0,0 +1,107 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dao.TransactionManager;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class TransactionManagerTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+
+    public TransactionManagerTest() throws SQLException {
+        MockitoAnnotations.initMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        TransactionManager.setDataSource(dataSource);
+    }
+
+    @AfterEach
+    public void restoreDataSource() {
+        TransactionManager.setDataSource(null);
+    }
+
+    @Test
+    public void nestedCallsJoinTheOuterTransaction() throws SQLException {
+        Connection inner = TransactionManager.inTransaction(() ->
+                TransactionManager.inTransaction(TransactionManager::currentConnection));
+        Assert.assertSame(connection, inner);
+        Assert.assertNull(TransactionManager.currentConnection());
+        verify(dataSource, times(1)).getConnection();
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        order.verify(connection).close();
+    }
+
+    @Test
+    public void rollbackOnlyRollsBackAndThrows() throws SQLException {
+        List<String> ran = new ArrayList<>();
+        try {
+            TransactionManager.inTransaction(() -> {
+                TransactionManager.afterCommit(() -> ran.add("action"));
+                TransactionManager.setRollbackOnly();
+            });
+            Assert.fail("rolled-back transaction returned normally");
+        } catch (IllegalStateException expected) {
+            Assert.assertEquals("transaction rolled back", expected.getMessage());
+        }
+        verify(connection, never()).commit();
+        verify(connection, times(1)).rollback();
+        verify(connection).close();
+        Assert.assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    public void afterCommitActionsRunInOrderAfterCommitEvenIfOneFails() throws SQLException {
+        List<String> ran = new ArrayList<>();
+        doAnswer(invocation -> ran.add("commit")).when(connection).commit();
+        TransactionManager.inTransaction(() -> {
+            TransactionManager.afterCommit(() -> ran.add("first"));
+            TransactionManager.afterCommit(() -> {
+                throw new IllegalArgumentException("broken action");
+            });
+            TransactionManager.afterCommit(() -> ran.add("third"));
+        });
+        Assert.assertEquals(Arrays.asList("commit", "first", "third"), ran);
+        verify(connection, never()).rollback();
+    }
+
+    @Test
+    public void connectionIsClosedWhenRestoringAutoCommitFails() throws SQLException {
+        doThrow(new SQLException("gone")).when(connection).setAutoCommit(true);
+        TransactionManager.inTransaction(() -> { });
+        verify(connection).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    public void failureOfTheWorkIsNotHiddenByCleanup() throws SQLException {
+        doThrow(new SQLException("gone")).when(connection).close();
+        IllegalArgumentException failure = new IllegalArgumentException("work failed");
+        try {
+            TransactionManager.inTransaction(() -> {
+                throw failure;
+            });
+            Assert.fail();
+        } catch (IllegalArgumentException thrown) {
+            Assert.assertSame(failure, thrown);
+            Assert.assertEquals(1, thrown.getSuppressed().length);
+        }
+        verify(connection).rollback();
+    }
+}
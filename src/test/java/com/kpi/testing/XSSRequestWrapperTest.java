@@ -0,0 +1,53 @@
+package com.kpi.testing;
+
+import com.kpi.testing.controller.security.XSSRequestWrapper;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.mockito.Mockito.*;
+
+public class XSSRequestWrapperTest {
+    @Mock
+    private HttpServletRequest request;
+
+    public XSSRequestWrapperTest() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void escapesMarkupCharacters() {
+        Assert.assertEquals("&lt;script&gt;alert&#40;&#39;x&#39;&#41;&lt;/script&gt;",
+                XSSRequestWrapper.cleanXSS("<script>alert('x')</script>"));
+        Assert.assertEquals("a=&#34;b&#34;", XSSRequestWrapper.cleanXSS("a=\"b\""));
+    }
+
+    @Test
+    public void keepsQuotesInPasswords() {
+        when(request.getParameterValues("password")).thenReturn(new String[]{"p\"<ss"});
+        XSSRequestWrapper wrapper = new XSSRequestWrapper(request);
+        Assert.assertEquals("p\"&lt;ss", wrapper.getParameter("password"));
+    }
+
+    @Test
+    public void returnsSameStringWhenNothingToEscape() {
+        String value = "plain report description";
+        Assert.assertSame(value, XSSRequestWrapper.cleanXSS(value));
+    }
+
+    @Test
+    public void cleansEachParameterOnce() {
+        when(request.getParameterValues("description")).thenReturn(new String[]{"<b>"});
+        XSSRequestWrapper wrapper = new XSSRequestWrapper(request);
+        Assert.assertEquals("&lt;b&gt;", wrapper.getParameter("description"));
+        Assert.assertEquals("&lt;b&gt;", wrapper.getParameter("description"));
+        Assert.assertArrayEquals(new String[]{"&lt;b&gt;"}, wrapper.getParameterValues("description"));
+        Assert.assertNull(wrapper.getParameter("missing"));
+        Assert.assertNull(wrapper.getParameter("missing"));
+        verify(request, times(1)).getParameterValues("description");
+        verify(request, times(1)).getParameterValues("missing");
+    }
+}
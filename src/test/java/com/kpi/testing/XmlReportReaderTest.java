@@ -0,0 +1,49 @@
+package com.kpi.testing;
+
+import com.kpi.testing.dto.AddReportDTO;
+import com.kpi.testing.util.imports.ImportFormat;
+import com.kpi.testing.util.imports.ReportRecordReader;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class XmlReportReaderTest {
+
+    @Test
+    public void readsReportsInDocumentOrder() throws IOException {
+        try (ReportRecordReader reader = open("<reports>"
+                + "<report><name>first</name><description>one</description></report>"
+                + "<report><meta><name>ignored</name></meta><name>second</name><description>two</description></report>"
+                + "</reports>")) {
+            AddReportDTO first = reader.next();
+            Assert.assertEquals("first", first.getName());
+            Assert.assertEquals("one", first.getDescription());
+            AddReportDTO second = reader.next();
+            Assert.assertEquals("second", second.getName());
+            Assert.assertEquals("two", second.getDescription());
+            Assert.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void malformedFileFailsAfterValidRecords() throws IOException {
+        try (ReportRecordReader reader = open("<reports>"
+                + "<report><name>first</name><description>one</description></report>"
+                + "<report><name>broken</description></report>")) {
+            Assert.assertEquals("first", reader.next().getName());
+            try {
+                reader.next();
+                Assert.fail("malformed record accepted");
+            } catch (IOException expected) {
+                Assert.assertTrue(expected.getMessage().startsWith("Malformed XML"));
+            }
+        }
+    }
+
+    private static ReportRecordReader open(String xml) throws IOException {
+        return ImportFormat.XML.open(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}